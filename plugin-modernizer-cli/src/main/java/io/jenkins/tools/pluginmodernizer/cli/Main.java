@@ -16,6 +16,7 @@ import picocli.CommandLine.Command;
             DryRunCommand.class,
             RunCommand.class,
             CleanupCommand.class,
+            PrefetchJdksCommand.class,
             VersionCommand.class
         },
         mixinStandardHelpOptions = true,
@@ -1,8 +1,11 @@
 package io.jenkins.tools.pluginmodernizer.cli.command;
 
+import io.jenkins.tools.pluginmodernizer.cli.converter.SizeConverter;
 import io.jenkins.tools.pluginmodernizer.cli.options.GlobalOptions;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import java.nio.file.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
@@ -29,6 +32,13 @@ public class CleanupCommand implements ICommand {
             description = "Dry run. Do not remove anything.")
     private boolean dryRun;
 
+    @CommandLine.Option(
+            names = {"--keep-under"},
+            description =
+                    "Only evict least recently used plugin build outputs, then checkouts, until the cache is under the given size (e.g. 50G).",
+            converter = SizeConverter.class)
+    private Long keepUnder;
+
     @Override
     public Config setup(Config.Builder builder) {
         options.config(builder);
@@ -39,6 +49,23 @@ public class CleanupCommand implements ICommand {
     @Override
     public Integer call() throws Exception {
         PluginModernizer modernizer = getModernizer();
+        if (keepUnder != null) {
+            CacheManager.Eviction eviction = modernizer.evictCache(keepUnder);
+            for (Path path : eviction.removed()) {
+                LOG.info("{} path: {}", modernizer.isDryRun() ? "Would remove" : "Removed", path);
+            }
+            String verb = modernizer.isDryRun() ? "would be" : "is";
+            if (eviction.size() > keepUnder) {
+                LOG.warn(
+                        "Cache size {} {} bytes, still above {} bytes. Only plugin outputs and checkouts are evicted",
+                        verb,
+                        eviction.size(),
+                        keepUnder);
+            } else {
+                LOG.info("Cache size {} {} bytes", verb, eviction.size());
+            }
+            return 0;
+        }
         if (modernizer.isDryRun()) {
             LOG.info("Would remove path: {}", modernizer.getCachePath());
         } else {
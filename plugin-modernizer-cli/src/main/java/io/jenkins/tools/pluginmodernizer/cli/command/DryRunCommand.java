@@ -40,6 +40,12 @@ public class DryRunCommand implements ICommand {
             converter = RecipeConverter.class)
     private Recipe recipe;
 
+    @CommandLine.Option(
+            names = {"--verify-matrix"},
+            description =
+                    "Verify the modernized plugin concurrently with every JDK supported by its Jenkins baseline, each in its own copy of the sources, and report the result of each JDK.")
+    public boolean verifyMatrix;
+
     /**
      * Environment options
      */
@@ -64,7 +70,10 @@ public class DryRunCommand implements ICommand {
         pluginOptions.config(builder);
         githubOptions.config(builder);
         envOptions.config(builder);
-        return builder.withDryRun(true).withRecipe(recipe).build();
+        return builder.withDryRun(true)
+                .withRecipe(recipe)
+                .withVerifyMatrix(verifyMatrix)
+                .build();
     }
 
     @Override
@@ -0,0 +1,80 @@
+package io.jenkins.tools.pluginmodernizer.cli.command;
+
+import io.jenkins.tools.pluginmodernizer.cli.options.GlobalOptions;
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+/**
+ * Prefetch JDKs command
+ */
+@CommandLine.Command(
+        name = "prefetch-jdks",
+        description = "Download the JDKs used to build plugins into the cache. Useful to bake them into an image")
+public class PrefetchJdksCommand implements ICommand {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(PrefetchJdksCommand.class);
+
+    /**
+     * Global options for all commands
+     */
+    @CommandLine.Mixin
+    private GlobalOptions options;
+
+    /**
+     * JDK major versions to download
+     */
+    @CommandLine.Option(
+            names = {"--jdks"},
+            description = "Comma separated list of JDK major versions to download. Default to all supported JDKs.",
+            split = ",")
+    private List<Integer> majors;
+
+    @Override
+    public Config setup(Config.Builder builder) {
+        options.config(builder);
+        return builder.build();
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        Set<JDK> jdks = EnumSet.noneOf(JDK.class);
+        if (majors == null || majors.isEmpty()) {
+            jdks.addAll(JDK.all());
+        } else {
+            for (Integer major : majors) {
+                JDK jdk = JDK.get(major);
+                if (jdk == null) {
+                    LOG.error("Unsupported JDK {}. Supported JDKs are {}", major, JDK.all());
+                    return 1;
+                }
+                jdks.add(jdk);
+            }
+        }
+        PluginModernizer modernizer = getModernizer();
+        Map<JDK, CompletableFuture<Path>> homes = modernizer.prefetchJdks(jdks);
+        int failures = 0;
+        for (Map.Entry<JDK, CompletableFuture<Path>> home : homes.entrySet()) {
+            try {
+                LOG.info("JDK {} available at {}", home.getKey().getMajor(), home.getValue().join());
+            } catch (CompletionException e) {
+                LOG.error("Unable to download JDK {}: {}", home.getKey().getMajor(), e.getCause().getMessage());
+                failures++;
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+}
@@ -51,6 +51,12 @@ public class RunCommand implements ICommand {
                     "Remove forked repositories before and after the modernization process. Might cause data loss if you have other changes pushed on those forks. Forks with open pull request targeting original repo are not removed to prevent closing unmerged pull requests.")
     public boolean removeForks;
 
+    @CommandLine.Option(
+            names = {"--verify-matrix"},
+            description =
+                    "Verify the modernized plugin concurrently with every JDK supported by its Jenkins baseline, each in its own copy of the sources, and report the result of each JDK.")
+    public boolean verifyMatrix;
+
     /**
      * Environment options
      */
@@ -79,6 +85,7 @@ public class RunCommand implements ICommand {
                 .withRecipe(recipe)
                 .withDraft(draft)
                 .withRemoveForks(removeForks)
+                .withVerifyMatrix(verifyMatrix)
                 .build();
     }
 
@@ -0,0 +1,43 @@
+package io.jenkins.tools.pluginmodernizer.cli.converter;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import picocli.CommandLine;
+
+/**
+ * Custom converter for durations like 90s, 30m, 2h or 1h30m (or ISO-8601 like PT30M)
+ */
+public final class DurationConverter implements CommandLine.ITypeConverter<Duration> {
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile("^(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+)S)?$");
+
+    @Override
+    public Duration convert(String value) {
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        Duration duration;
+        Matcher matcher = DURATION_PATTERN.matcher(text);
+        if (!text.isEmpty() && matcher.matches()) {
+            duration = Duration.ofHours(parse(matcher.group(1)))
+                    .plusMinutes(parse(matcher.group(2)))
+                    .plusSeconds(parse(matcher.group(3)));
+        } else {
+            try {
+                duration = Duration.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new CommandLine.TypeConversionException(
+                        "Invalid duration: " + value + ". Expected for example 30m");
+            }
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new CommandLine.TypeConversionException("Invalid duration: " + value + ". Must be positive");
+        }
+        return duration;
+    }
+
+    private static long parse(String group) {
+        return group == null ? 0 : Long.parseLong(group);
+    }
+}
@@ -0,0 +1,34 @@
+package io.jenkins.tools.pluginmodernizer.cli.converter;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import picocli.CommandLine;
+
+/**
+ * Custom converter for disk sizes like 500M, 50G or 1T (powers of 1024)
+ */
+public final class SizeConverter implements CommandLine.ITypeConverter<Long> {
+
+    private static final Pattern SIZE_PATTERN = Pattern.compile("^(\\d+)\\s*([KMGT]?)B?$");
+
+    @Override
+    public Long convert(String value) {
+        Matcher matcher = SIZE_PATTERN.matcher(value.trim().toUpperCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new CommandLine.TypeConversionException("Invalid size: " + value + ". Expected for example 50G");
+        }
+        String unit = matcher.group(2);
+        int exponent = unit.isEmpty() ? 0 : "KMGT".indexOf(unit) + 1;
+        long size;
+        try {
+            size = Math.multiplyExact(Long.parseLong(matcher.group(1)), 1L << (10 * exponent));
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new CommandLine.TypeConversionException("Size too large: " + value);
+        }
+        if (size == 0) {
+            throw new CommandLine.TypeConversionException("Invalid size: " + value + ". Must be positive");
+        }
+        return size;
+    }
+}
@@ -1,8 +1,14 @@
 package io.jenkins.tools.pluginmodernizer.cli.options;
 
+import io.jenkins.tools.pluginmodernizer.cli.converter.DurationConverter;
+import io.jenkins.tools.pluginmodernizer.cli.converter.SizeConverter;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheFormat;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 import picocli.CommandLine;
 
 /**
@@ -45,12 +51,93 @@ public class EnvOptions implements IOption {
             description = "GitHub API URL. Default to https://api.github.com")
     public URL githubApiUrl = Settings.GITHUB_API_URL;
 
+    @CommandLine.Option(
+            names = {"--cache-max-size"},
+            description =
+                    "Maximum size of the cache directory (e.g. 50G). Least recently used plugin build outputs, then checkouts, are evicted when the cache grows above it.",
+            converter = SizeConverter.class)
+    public Long cacheMaxSize;
+
+    @CommandLine.Option(
+            names = {"--cache-format"},
+            description =
+                    "Format of the cache entries of a cache key (e.g. update-center=GZIP_JSON). Valid formats: ${COMPLETION-CANDIDATES}. Entries are stored as plain JSON by default.")
+    public Map<String, CacheFormat> cacheFormats;
+
+    @CommandLine.Option(
+            names = {"--jfr"},
+            description =
+                    "Record the run with Java Flight Recorder to the given file (e.g. modernizer.jfr). Plugin stages, Maven invocations, GitHub API calls and cache accesses are recorded as custom events.")
+    public Path jfrFile;
+
+    @CommandLine.Option(
+            names = {"--trace"},
+            description =
+                    "Append a trace of each processed plugin to the given file in the OTLP/JSON format (e.g. traces.jsonl). Each plugin is a root span with child spans for its stages, GitHub operations and Maven invocations.")
+    public Path traceFile;
+
+    @CommandLine.Option(
+            names = {"--metrics-port"},
+            description =
+                    "Serve live metrics of the run (plugins processed, Maven builds in progress, GitHub rate limit, cache hit ratio, JDK downloads) in the Prometheus text format on http://<host>:<port>/metrics.")
+    public Integer metricsPort;
+
+    @CommandLine.Option(
+            names = {"--metrics-bind-address"},
+            description =
+                    "Address the metrics endpoint listens on (e.g. 0.0.0.0 for all interfaces). Only the loopback address by default.")
+    public String metricsBindAddress;
+
+    @CommandLine.Option(
+            names = {"--compress-build-logs"},
+            description =
+                    "Compress the build logs of the plugins (logs/<plugin>-build.log.gz) with gzip. Build logs receive the full Maven output, only summary lines are written to the plugin logs.")
+    public boolean compressBuildLogs;
+
+    @CommandLine.Option(
+            names = {"--fatal-signatures"},
+            description =
+                    "Properties file adding or overriding the Maven output signatures on which builds are aborted (<id>.pattern = <regex>, <id>.description = <text>). An empty pattern disables a default signature.")
+    public Path fatalSignaturesFile;
+
+    @CommandLine.Option(
+            names = {"--compile-timeout"},
+            description =
+                    "Maximum duration of Maven builds other than rewrite and verify (e.g. 30m). The Maven processes are killed on timeout.",
+            converter = DurationConverter.class)
+    public Duration compileTimeout;
+
+    @CommandLine.Option(
+            names = {"--rewrite-timeout"},
+            description =
+                    "Maximum duration of the OpenRewrite Maven builds, including metadata collection (e.g. 1h). The Maven processes are killed on timeout.",
+            converter = DurationConverter.class)
+    public Duration rewriteTimeout;
+
+    @CommandLine.Option(
+            names = {"--verify-timeout"},
+            description =
+                    "Maximum duration of the Maven verify builds (e.g. 2h). The Maven processes are killed on timeout.",
+            converter = DurationConverter.class)
+    public Duration verifyTimeout;
+
     @Override
     public void config(Config.Builder builder) {
         builder.withJenkinsUpdateCenter(jenkinsUpdateCenter)
                 .withJenkinsPluginVersions(jenkinsPluginVersions)
                 .withPluginHealthScore(pluginHealthScore)
                 .withPluginStatsInstallations(jenkinsPluginsStatsInstallationsUrl)
-                .withGithubApiUrl(githubApiUrl);
+                .withGithubApiUrl(githubApiUrl)
+                .withCacheMaxSize(cacheMaxSize)
+                .withCacheFormats(cacheFormats)
+                .withJfrFile(jfrFile)
+                .withTraceFile(traceFile)
+                .withMetricsPort(metricsPort)
+                .withMetricsBindAddress(metricsBindAddress)
+                .withCompressBuildLogs(compressBuildLogs)
+                .withFatalSignaturesFile(fatalSignaturesFile)
+                .withCompileTimeout(compileTimeout)
+                .withRewriteTimeout(rewriteTimeout)
+                .withVerifyTimeout(verifyTimeout);
     }
 }
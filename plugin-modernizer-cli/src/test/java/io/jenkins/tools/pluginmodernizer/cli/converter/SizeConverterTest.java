@@ -0,0 +1,35 @@
+package io.jenkins.tools.pluginmodernizer.cli.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+public class SizeConverterTest {
+
+    private final SizeConverter converter = new SizeConverter();
+
+    @Test
+    public void testConvertSizes() {
+        assertEquals(500L, converter.convert("500"));
+        assertEquals(500L * 1024 * 1024, converter.convert("500M"));
+        assertEquals(50L * 1024 * 1024 * 1024, converter.convert(" 50 gb "));
+        assertEquals(8L << 40, converter.convert("8T"));
+    }
+
+    @Test
+    public void testRejectInvalidSizes() {
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("50X"));
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("-1G"));
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("0"));
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("0G"));
+    }
+
+    @Test
+    public void testRejectOverflow() {
+        assertEquals(8388607L << 40, converter.convert("8388607T"));
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("8388608T"));
+        assertThrows(CommandLine.TypeConversionException.class, () -> converter.convert("99999999999999999999"));
+    }
+}
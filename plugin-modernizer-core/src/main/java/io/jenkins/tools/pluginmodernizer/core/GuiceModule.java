@@ -1,12 +1,22 @@
 package io.jenkins.tools.pluginmodernizer.core;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheStatistics;
+import io.jenkins.tools.pluginmodernizer.core.impl.FatalSignatures;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import io.jenkins.tools.pluginmodernizer.core.impl.RunReport;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildCosts;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildScheduler;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.HostCapacity;
+import io.jenkins.tools.pluginmodernizer.core.tracing.Tracer;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import jakarta.inject.Singleton;
 import org.apache.maven.shared.invoker.DefaultInvoker;
 import org.apache.maven.shared.invoker.Invoker;
 
@@ -22,10 +32,35 @@ public class GuiceModule extends AbstractModule {
     protected void configure() {
         bind(Invoker.class).to(DefaultInvoker.class);
         bind(Config.class).toInstance(config);
-        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath()));
+        bind(CacheStatistics.class).in(Singleton.class);
         bind(PluginService.class).toInstance(new PluginService());
         bind(GHService.class).toInstance(new GHService());
         bind(JdkFetcher.class).toInstance(new JdkFetcher(config.getCachePath()));
-        bind(PluginModernizer.class).toInstance(new PluginModernizer());
+        bind(MetricsRegistry.class).toInstance(new MetricsRegistry());
+        bind(PluginModernizer.class).in(Singleton.class);
+    }
+
+    @Provides
+    @Singleton
+    CacheManager cacheManager(CacheStatistics cacheStatistics) {
+        return new CacheManager(config.getCachePath(), cacheStatistics).withFormats(config.getCacheFormats());
+    }
+
+    @Provides
+    @Singleton
+    FatalSignatures fatalSignatures() {
+        return FatalSignatures.load(config.getFatalSignaturesFile());
+    }
+
+    @Provides
+    @Singleton
+    BuildScheduler buildScheduler() {
+        return new BuildScheduler(HostCapacity.detect(), BuildCosts.load(config.getCachePath()));
+    }
+
+    @Provides
+    @Singleton
+    RunReport runReport() {
+        return new RunReport(Tracer.create(config.getTraceFile(), config.getVersion()));
     }
 }
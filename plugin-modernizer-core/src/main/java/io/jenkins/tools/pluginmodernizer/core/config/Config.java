@@ -1,11 +1,14 @@
 package io.jenkins.tools.pluginmodernizer.core.config;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheFormat;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 public class Config {
 
@@ -21,11 +24,23 @@ public class Config {
     private final URL pluginStatsInstallations;
     private final URL githubApiUrl;
     private final Path cachePath;
+    private final Long cacheMaxSize;
+    private final Map<String, CacheFormat> cacheFormats;
+    private final Path jfrFile;
+    private final Path traceFile;
+    private final Integer metricsPort;
+    private final String metricsBindAddress;
+    private final boolean compressBuildLogs;
+    private final Path fatalSignaturesFile;
     private final Path mavenHome;
     private final Path mavenLocalRepo;
+    private final Duration compileTimeout;
+    private final Duration rewriteTimeout;
+    private final Duration verifyTimeout;
     private final boolean dryRun;
     private final boolean draft;
     private final boolean removeForks;
+    private final boolean verifyMatrix;
     private final String githubOwner;
     private final Long githubAppId;
     private final Long githubAppSourceInstallationId;
@@ -47,11 +62,23 @@ public class Config {
             URL pluginStatsInstallations,
             URL githubApiUrl,
             Path cachePath,
+            Long cacheMaxSize,
+            Map<String, CacheFormat> cacheFormats,
+            Path jfrFile,
+            Path traceFile,
+            Integer metricsPort,
+            String metricsBindAddress,
+            boolean compressBuildLogs,
+            Path fatalSignaturesFile,
             Path mavenHome,
             Path mavenLocalRepo,
+            Duration compileTimeout,
+            Duration rewriteTimeout,
+            Duration verifyTimeout,
             boolean dryRun,
             boolean draft,
-            boolean removeForks) {
+            boolean removeForks,
+            boolean verifyMatrix) {
         this.version = version;
         this.githubOwner = githubOwner;
         this.githubAppId = githubAppId;
@@ -66,11 +93,23 @@ public class Config {
         this.pluginStatsInstallations = pluginStatsInstallations;
         this.githubApiUrl = githubApiUrl;
         this.cachePath = cachePath;
+        this.cacheMaxSize = cacheMaxSize;
+        this.cacheFormats = cacheFormats;
+        this.jfrFile = jfrFile;
+        this.traceFile = traceFile;
+        this.metricsPort = metricsPort;
+        this.metricsBindAddress = metricsBindAddress;
+        this.compressBuildLogs = compressBuildLogs;
+        this.fatalSignaturesFile = fatalSignaturesFile;
         this.mavenHome = mavenHome;
         this.mavenLocalRepo = mavenLocalRepo;
+        this.compileTimeout = compileTimeout;
+        this.rewriteTimeout = rewriteTimeout;
+        this.verifyTimeout = verifyTimeout;
         this.dryRun = dryRun;
         this.draft = draft;
         this.removeForks = removeForks;
+        this.verifyMatrix = verifyMatrix;
     }
 
     public String getVersion() {
@@ -137,6 +176,70 @@ public class Config {
         return cachePath.toAbsolutePath();
     }
 
+    /**
+     * Maximum size in bytes of the cache directory before evicting least recently used plugin data
+     * @return The maximum size or null if unlimited
+     */
+    public Long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    /**
+     * Format of the cache entries by cache key. Entries of other keys are stored as plain JSON
+     * @return The formats by cache key
+     */
+    public Map<String, CacheFormat> getCacheFormats() {
+        return cacheFormats;
+    }
+
+    /**
+     * File to write a Java Flight Recorder recording of the run to
+     * @return The recording file or null if the run is not recorded
+     */
+    public Path getJfrFile() {
+        return jfrFile;
+    }
+
+    /**
+     * File to append the traces of the processed plugins to, in the OTLP/JSON format
+     * @return The trace file or null if the run is not traced
+     */
+    public Path getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * Port of the HTTP endpoint serving the metrics of the run in the Prometheus text format
+     * @return The port, 0 for any free port, or null if the metrics are not served
+     */
+    public Integer getMetricsPort() {
+        return metricsPort;
+    }
+
+    /**
+     * Address the HTTP endpoint serving the metrics listens on
+     * @return The host name or IP address, or null to only listen on the loopback address
+     */
+    public String getMetricsBindAddress() {
+        return metricsBindAddress;
+    }
+
+    /**
+     * Compress the build logs of the plugins with gzip
+     * @return True if build logs are compressed
+     */
+    public boolean isCompressBuildLogs() {
+        return compressBuildLogs;
+    }
+
+    /**
+     * Properties file adding or overriding the Maven output signatures on which builds are aborted
+     * @return The file or null to only use the default signatures
+     */
+    public Path getFatalSignaturesFile() {
+        return fatalSignaturesFile;
+    }
+
     public Path getMavenHome() {
         if (mavenHome == null) {
             return null;
@@ -151,6 +254,30 @@ public class Config {
         return mavenLocalRepo.toAbsolutePath();
     }
 
+    /**
+     * Maximum duration of Maven builds other than rewrite and verify (clean, compile, spotless:apply)
+     * @return The timeout or null if unlimited
+     */
+    public Duration getCompileTimeout() {
+        return compileTimeout;
+    }
+
+    /**
+     * Maximum duration of the OpenRewrite Maven builds, including metadata collection
+     * @return The timeout or null if unlimited
+     */
+    public Duration getRewriteTimeout() {
+        return rewriteTimeout;
+    }
+
+    /**
+     * Maximum duration of the Maven verify builds
+     * @return The timeout or null if unlimited
+     */
+    public Duration getVerifyTimeout() {
+        return verifyTimeout;
+    }
+
     public boolean isDryRun() {
         return dryRun;
     }
@@ -167,6 +294,14 @@ public class Config {
         return removeForks;
     }
 
+    /**
+     * Verify the modernized plugin with all JDKs supported by its Jenkins baseline instead of a single one
+     * @return True if the verification matrix is enabled
+     */
+    public boolean isVerifyMatrix() {
+        return verifyMatrix;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -186,11 +321,23 @@ public class Config {
         private URL pluginHealthScore = Settings.DEFAULT_HEALTH_SCORE_URL;
         private URL githubApiUrl = Settings.GITHUB_API_URL;
         private Path cachePath = Settings.DEFAULT_CACHE_PATH;
+        private Long cacheMaxSize;
+        private Map<String, CacheFormat> cacheFormats = Map.of();
+        private Path jfrFile;
+        private Path traceFile;
+        private Integer metricsPort;
+        private String metricsBindAddress;
+        private boolean compressBuildLogs = false;
+        private Path fatalSignaturesFile;
         private Path mavenHome = Settings.DEFAULT_MAVEN_HOME;
         private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
+        private Duration compileTimeout;
+        private Duration rewriteTimeout;
+        private Duration verifyTimeout;
         private boolean dryRun = false;
         private boolean draft = false;
         public boolean removeForks = false;
+        private boolean verifyMatrix = false;
 
         public Builder withVersion(String version) {
             this.version = version;
@@ -274,6 +421,48 @@ public class Config {
             return this;
         }
 
+        public Builder withCacheMaxSize(Long cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+            return this;
+        }
+
+        public Builder withCacheFormats(Map<String, CacheFormat> cacheFormats) {
+            if (cacheFormats != null) {
+                this.cacheFormats = Map.copyOf(cacheFormats);
+            }
+            return this;
+        }
+
+        public Builder withJfrFile(Path jfrFile) {
+            this.jfrFile = jfrFile;
+            return this;
+        }
+
+        public Builder withTraceFile(Path traceFile) {
+            this.traceFile = traceFile;
+            return this;
+        }
+
+        public Builder withMetricsPort(Integer metricsPort) {
+            this.metricsPort = metricsPort;
+            return this;
+        }
+
+        public Builder withMetricsBindAddress(String metricsBindAddress) {
+            this.metricsBindAddress = metricsBindAddress;
+            return this;
+        }
+
+        public Builder withCompressBuildLogs(boolean compressBuildLogs) {
+            this.compressBuildLogs = compressBuildLogs;
+            return this;
+        }
+
+        public Builder withFatalSignaturesFile(Path fatalSignaturesFile) {
+            this.fatalSignaturesFile = fatalSignaturesFile;
+            return this;
+        }
+
         public Builder withMavenHome(Path mavenHome) {
             if (mavenHome != null) {
                 this.mavenHome = mavenHome;
@@ -288,6 +477,21 @@ public class Config {
             return this;
         }
 
+        public Builder withCompileTimeout(Duration compileTimeout) {
+            this.compileTimeout = compileTimeout;
+            return this;
+        }
+
+        public Builder withRewriteTimeout(Duration rewriteTimeout) {
+            this.rewriteTimeout = rewriteTimeout;
+            return this;
+        }
+
+        public Builder withVerifyTimeout(Duration verifyTimeout) {
+            this.verifyTimeout = verifyTimeout;
+            return this;
+        }
+
         public Builder withDryRun(boolean dryRun) {
             this.dryRun = dryRun;
             return this;
@@ -303,6 +507,11 @@ public class Config {
             return this;
         }
 
+        public Builder withVerifyMatrix(boolean verifyMatrix) {
+            this.verifyMatrix = verifyMatrix;
+            return this;
+        }
+
         public Config build() {
             return new Config(
                     version,
@@ -319,11 +528,23 @@ public class Config {
                     pluginStatsInstallations,
                     githubApiUrl,
                     cachePath,
+                    cacheMaxSize,
+                    cacheFormats,
+                    jfrFile,
+                    traceFile,
+                    metricsPort,
+                    metricsBindAddress,
+                    compressBuildLogs,
+                    fatalSignaturesFile,
                     mavenHome,
                     mavenLocalRepo,
+                    compileTimeout,
+                    rewriteTimeout,
+                    verifyTimeout,
                     dryRun,
                     draft,
-                    removeForks);
+                    removeForks,
+                    verifyMatrix);
         }
     }
 }
@@ -64,6 +64,16 @@ public class Settings {
 
     public static final ComparableVersion MAVEN_MINIMAL_VERSION = new ComparableVersion("3.9.7");
 
+    /**
+     * Number of last lines of Maven output attached to a build failure
+     */
+    public static final int MAVEN_OUTPUT_TAIL_LINES = 20;
+
+    /**
+     * Number of first error lines of Maven output attached to a build failure
+     */
+    public static final int MAVEN_OUTPUT_ERROR_LINES = 20;
+
     public static final String REMEDIATION_JENKINS_MINIMUM_VERSION;
 
     public static final String REMEDIATION_PLUGIN_PARENT_VERSION;
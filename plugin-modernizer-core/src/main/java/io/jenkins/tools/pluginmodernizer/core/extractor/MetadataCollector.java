@@ -4,7 +4,6 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -293,8 +292,13 @@ public class MetadataCollector extends ScanningRecipe<MetadataCollector.Metadata
         @Override
         public Xml.Tag visitTag(Xml.Tag tag, ExecutionContext ctx) {
             Xml.Tag t = super.visitTag(tag, ctx);
+            // Only convert the subtrees of tags some flags are computed from
+            List<MetadataFlag> candidates = MetadataFlag.forTag(tag.getName());
+            if (candidates.isEmpty()) {
+                return t;
+            }
             MetadataXmlTag metadataXmlTag = convertToMetadataXmlTag(tag);
-            List<MetadataFlag> newFlags = Arrays.stream(MetadataFlag.values())
+            List<MetadataFlag> newFlags = candidates.stream()
                     .filter(flag -> flag.isApplicable(metadataXmlTag))
                     .toList();
             flags.addAll(newFlags);
@@ -2,9 +2,13 @@ package io.jenkins.tools.pluginmodernizer.core.extractor;
 
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,12 +21,10 @@ public enum MetadataFlag {
      * If the SCM URL uses HTTPS
      */
     SCM_HTTPS(
+            "scm",
             tag -> {
-                if ("scm".equals(tag.getName())) {
-                    Optional<String> connection = tag.getChildValue("connection");
-                    return connection.isPresent() && connection.get().startsWith("scm:git:https");
-                }
-                return false;
+                Optional<String> connection = tag.getChildValue("connection");
+                return connection.isPresent() && connection.get().startsWith("scm:git:https");
             },
             null),
 
@@ -30,78 +32,78 @@ public enum MetadataFlag {
      * If the plugin uses HTTPS for all its repositories
      */
     MAVEN_REPOSITORIES_HTTPS(
-            tag -> {
-                if ("repositories".equals(tag.getName())) {
-                    return tag.getChildren().stream()
-                            .filter(c -> "repository".equals(c.getName()))
-                            .map(r -> r.getChildValue("url").orElseThrow())
-                            .allMatch(url -> url.startsWith("https"));
-                }
-                return false;
-            },
+            "repositories",
+            tag -> tag.getChildren().stream()
+                    .filter(c -> "repository".equals(c.getName()))
+                    .map(r -> r.getChildValue("url").orElseThrow())
+                    .allMatch(url -> url.startsWith("https")),
             null),
 
     /**
      * If the license block is set
      */
     LICENSE_SET(
-            tag -> {
-                if ("licenses".equals(tag.getName())) {
-                    return tag.getChildren().stream()
-                            .filter(c -> "license".equals(c.getName()))
-                            .map(r -> r.getChildValue("name").orElseThrow())
-                            .findAny()
-                            .isPresent();
-                }
-                return false;
-            },
+            "licenses",
+            tag -> tag.getChildren().stream()
+                    .filter(c -> "license".equals(c.getName()))
+                    .map(r -> r.getChildValue("name").orElseThrow())
+                    .findAny()
+                    .isPresent(),
             null),
 
     /**
      * If the develop block is set
      */
     DEVELOPER_SET(
-            tag -> {
-                if ("developers".equals(tag.getName())) {
-                    return tag.getChildren().stream()
-                            .filter(c -> "developer".equals(c.getName()))
-                            .map(r -> r.getChildValue("id").orElseThrow())
-                            .findAny()
-                            .isPresent();
-                }
-                return false;
-            },
+            "developers",
+            tag -> tag.getChildren().stream()
+                    .filter(c -> "developer".equals(c.getName()))
+                    .map(r -> r.getChildValue("id").orElseThrow())
+                    .findAny()
+                    .isPresent(),
             null),
 
     /**
      * If the plugin is an API plugin
      */
-    IS_API_PLUGIN(null, (plugin, pluginService) -> pluginService.isApiPlugin(plugin)),
+    IS_API_PLUGIN(null, null, (plugin, pluginService) -> pluginService.isApiPlugin(plugin)),
 
     /**
      * If the plugin is deprecated
      */
-    IS_DEPRECATED(null, (plugin, pluginService) -> pluginService.isDeprecated(plugin)),
+    IS_DEPRECATED(null, null, (plugin, pluginService) -> pluginService.isDeprecated(plugin)),
 
     /**
      * If the plugin is for adoption
      */
-    IS_FOR_ADOPTION(null, (plugin, pluginService) -> pluginService.isForAdoption(plugin)),
+    IS_FOR_ADOPTION(null, null, (plugin, pluginService) -> pluginService.isForAdoption(plugin)),
 
     /**
      * If the plugin has a max score (100 %)
      */
-    HAS_MAX_SCORE(null, (plugin, pluginService) -> pluginService.hasMaxScore(plugin)),
+    HAS_MAX_SCORE(null, null, (plugin, pluginService) -> pluginService.hasMaxScore(plugin)),
 
     /**
      * If the plugin has a low score
      */
-    HAS_LOW_SCORE(null, (plugin, pluginService) -> pluginService.hasLowScore(plugin)),
+    HAS_LOW_SCORE(null, null, (plugin, pluginService) -> pluginService.hasLowScore(plugin)),
 
     /**
      * If the plugin has no known installation
      */
-    NO_KNOWN_INSTALLATION(null, (plugin, pluginService) -> pluginService.hasNoKnownInstallations(plugin));
+    NO_KNOWN_INSTALLATION(null, null, (plugin, pluginService) -> pluginService.hasNoKnownInstallations(plugin));
+
+    /**
+     * Flags applicable to XML tags indexed by tag name
+     */
+    private static final Map<String, List<MetadataFlag>> TAG_FLAGS = Arrays.stream(values())
+            .filter(flag -> flag.tag != null)
+            .collect(Collectors.groupingBy(flag -> flag.tag));
+
+    /**
+     * Name of the XML tag the flag is computed from
+     */
+    private final String tag;
 
     /**
      * Function to check if the flag is applicable for the given XML tag
@@ -115,9 +117,15 @@ public enum MetadataFlag {
 
     /**
      * Constructor
+     * @param tag Name of the XML tag the flag is computed from
      * @param isApplicableTag Predicate to check if the flag is applicable for the given XML tag
+     * @param isApplicablePlugin Predicate to check if the flag is applicable for the given plugin
      */
-    MetadataFlag(Predicate<MetadataXmlTag> isApplicableTag, BiPredicate<Plugin, PluginService> isApplicablePlugin) {
+    MetadataFlag(
+            String tag,
+            Predicate<MetadataXmlTag> isApplicableTag,
+            BiPredicate<Plugin, PluginService> isApplicablePlugin) {
+        this.tag = tag;
         this.isApplicableTag = isApplicableTag;
         this.isApplicablePlugin = isApplicablePlugin;
     }
@@ -128,12 +136,21 @@ public enum MetadataFlag {
      * @return true if the flag is applicable
      */
     public boolean isApplicable(MetadataXmlTag tag) {
-        if (isApplicableTag == null) {
+        if (isApplicableTag == null || !this.tag.equals(tag.getName())) {
             return false;
         }
         return isApplicableTag.test(tag);
     }
 
+    /**
+     * Get the flags that can be computed from an XML tag with the given name
+     * @param name Name of the XML tag
+     * @return The flags, empty if the tag is not relevant for any flag
+     */
+    public static List<MetadataFlag> forTag(String name) {
+        return TAG_FLAGS.getOrDefault(name, List.of());
+    }
+
     /**
      * Check if the flag is applicable for the given plugin
      * @param plugin Plugin
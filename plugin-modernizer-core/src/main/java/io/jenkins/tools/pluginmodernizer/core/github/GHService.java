@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.core.github;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
@@ -54,6 +55,12 @@ public class GHService {
     @Inject
     private Config config;
 
+    /**
+     * The live metrics of the run
+     */
+    @Inject
+    private MetricsRegistry metrics;
+
     /**
      * The GitHub client
      */
@@ -125,12 +132,17 @@ public class GHService {
                 String jwtToken = JWTUtils.getJWT(config, Settings.GITHUB_APP_PRIVATE_KEY_FILE);
 
                 // Get the GitHub App
-                this.app = new GitHubBuilder().withJwtToken(jwtToken).build().getApp();
+                this.app = new GitHubBuilder()
+                        .withConnector(InstrumentedGitHubConnector.standard(metrics))
+                        .withJwtToken(jwtToken)
+                        .build()
+                        .getApp();
                 GHAppInstallationToken appInstallationToken = this.app
                         .getInstallationById(config.getGithubAppSourceInstallationId())
                         .createToken()
                         .create();
                 github = new GitHubBuilder()
+                        .withConnector(InstrumentedGitHubConnector.standard(metrics))
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withAppInstallationToken(appInstallationToken.getToken())
                         .build();
@@ -140,6 +152,7 @@ public class GHService {
             else {
                 LOG.debug("Connecting to GitHub using token...");
                 github = new GitHubBuilder()
+                        .withConnector(InstrumentedGitHubConnector.standard(metrics))
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withOAuthToken(Settings.GITHUB_TOKEN)
                         .build();
@@ -188,10 +201,15 @@ public class GHService {
         }
         try {
             String jwtToken = JWTUtils.getJWT(config, Settings.GITHUB_APP_PRIVATE_KEY_FILE);
-            GHApp app = new GitHubBuilder().withJwtToken(jwtToken).build().getApp();
+            GHApp app = new GitHubBuilder()
+                    .withConnector(InstrumentedGitHubConnector.standard(metrics))
+                    .withJwtToken(jwtToken)
+                    .build()
+                    .getApp();
             GHAppInstallationToken appInstallationToken =
                     app.getInstallationById(installationId).createToken().create();
             github = new GitHubBuilder()
+                    .withConnector(InstrumentedGitHubConnector.standard(metrics))
                     .withAppInstallationToken(appInstallationToken.getToken())
                     .build();
             this.app = app;
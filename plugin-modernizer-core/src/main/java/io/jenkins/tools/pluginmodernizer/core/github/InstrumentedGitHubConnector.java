@@ -0,0 +1,85 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import io.jenkins.tools.pluginmodernizer.core.jfr.GitHubApiEvent;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import java.io.IOException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * GitHub connector emitting a flight recorder event for each API call and recording the remaining rate limit
+ */
+class InstrumentedGitHubConnector implements GitHubConnector {
+
+    /**
+     * Connector sending the requests
+     */
+    private final GitHubConnector delegate;
+
+    /**
+     * Requests by HTTP status
+     */
+    private final MetricsRegistry.Counter requests;
+
+    /**
+     * Requests remaining in the current rate limit window
+     */
+    private final MetricsRegistry.Gauge rateLimitRemaining;
+
+    /**
+     * Create an instrumented connector
+     * @param delegate The connector sending the requests
+     * @param metrics The metrics registry
+     */
+    InstrumentedGitHubConnector(GitHubConnector delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.requests = metrics.counter("github_requests_total", "GitHub API requests by HTTP status", "status");
+        this.rateLimitRemaining = metrics.gauge(
+                "github_rate_limit_remaining", "GitHub API requests remaining in the current rate limit window");
+    }
+
+    /**
+     * Create an instrumented connector around the default connector of the GitHub client
+     * @param metrics The metrics registry
+     * @return The connector
+     */
+    static InstrumentedGitHubConnector standard(MetricsRegistry metrics) {
+        return new InstrumentedGitHubConnector(GitHubConnector.DEFAULT, metrics);
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        GitHubApiEvent event = new GitHubApiEvent(request.method(), request.url().getPath());
+        event.begin();
+        try {
+            GitHubConnectorResponse response = delegate.send(request);
+            int remaining = parseRateLimitRemaining(response.header("X-RateLimit-Remaining"));
+            event.setStatus(response.statusCode());
+            event.setRateLimitRemaining(remaining);
+            requests.inc(String.valueOf(response.statusCode()));
+            if (remaining != GitHubApiEvent.UNKNOWN) {
+                rateLimitRemaining.set(remaining);
+            }
+            return response;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Parse the remaining requests header
+     * @param value The header value, can be null
+     * @return The remaining requests or {@link GitHubApiEvent#UNKNOWN}
+     */
+    static int parseRateLimitRemaining(String value) {
+        if (value == null) {
+            return GitHubApiEvent.UNKNOWN;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return GitHubApiEvent.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Output of a Maven invocation written to the build log file of a plugin, bypassing the logging framework.
+ * Lines are queued by the thread reading the Maven output and written by a dedicated thread through a large buffer,
+ * flushed when the output is idle. Each invocation is appended to the file; compressed logs are appended as new gzip
+ * members, which gzip tools read as a single stream.
+ * The queue is bounded: when the disk is slower than Maven, reading the output waits instead of using more memory.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Build log path from the logs directory")
+public final class BuildLog implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuildLog.class);
+
+    /**
+     * Maximum number of lines waiting to be written
+     */
+    private static final int QUEUE_CAPACITY = 16_384;
+
+    /**
+     * Maximum number of lines written at once
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Delay without output after which the buffer is flushed to the file
+     */
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private final Path file;
+
+    private final boolean compressed;
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread writer;
+
+    private volatile boolean closed;
+
+    private volatile boolean failed;
+
+    private BuildLog(Path file) {
+        this.file = file;
+        this.compressed = file.getFileName().toString().endsWith(".gz");
+        this.writer = Thread.ofPlatform()
+                .daemon()
+                .name("build-log-" + file.getFileName())
+                .unstarted(this::run);
+    }
+
+    /**
+     * Open a build log and start its writer. Compressed with gzip if the file name ends with ".gz"
+     * @param file The build log file, created with its parent directories if missing
+     * @return The build log
+     */
+    public static BuildLog open(Path file) {
+        BuildLog buildLog = new BuildLog(file);
+        buildLog.writer.start();
+        return buildLog;
+    }
+
+    /**
+     * Queue a line of output. Lines are dropped if the file cannot be written or the log is closed
+     * @param line The line
+     */
+    public void println(String line) {
+        if (closed || failed || line == null) {
+            return;
+        }
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the build log file
+     * @return The file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Write the queued lines and close the file
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try (Writer out = newWriter()) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (!closed || !queue.isEmpty()) {
+                String line = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (line == null) {
+                    out.flush();
+                    continue;
+                }
+                batch.add(line);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (String each : batch) {
+                    out.write(each);
+                    out.write(System.lineSeparator());
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to write build log {}: {}", file.toAbsolutePath(), e.getMessage());
+            failed = true;
+            queue.clear();
+        } catch (InterruptedException e) {
+            failed = true;
+            queue.clear();
+        }
+    }
+
+    private Writer newWriter() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (compressed) {
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,155 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On disk encoding of cache entries, chosen per cache key through the configuration.
+ * Formats only trade disk space, entries decode at about the same speed whatever their format.
+ * Plain JSON files have no header so they stay human-readable: they are the unversioned layout, recognized by their
+ * opening brace. Other formats start with a magic header followed by the header version and the format identifier so
+ * the reader can detect the encoding without knowing the key. Entries written by a newer header version are
+ * unsupported and read as cache misses.
+ */
+public enum CacheFormat {
+
+    /**
+     * Plain JSON. Default format of all entries
+     */
+    JSON((byte) 0),
+
+    /**
+     * GZIP compressed JSON, about 10 times smaller on disk for bulky catalog entries (update center, versions, ...).
+     * Decoding is not faster than plain JSON, the decompression costing about as much as the reads it saves
+     */
+    GZIP_JSON((byte) 1);
+
+    /**
+     * Magic bytes of encoded entries
+     */
+    private static final byte[] MAGIC = {'P', 'M', 'C'};
+
+    /**
+     * Version of the header layout
+     */
+    private static final byte HEADER_VERSION = 1;
+
+    /**
+     * Size of the header (magic + version + format)
+     */
+    private static final int HEADER_SIZE = MAGIC.length + 2;
+
+    /**
+     * Identifier of the format in the header
+     */
+    private final byte id;
+
+    CacheFormat(byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Encode the given object
+     * @param object The object to encode
+     * @return The encoded content
+     */
+    public byte[] encode(Object object) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            if (this == JSON) {
+                writeJson(object, bytes);
+                return bytes.toByteArray();
+            }
+            bytes.write(MAGIC);
+            bytes.write(HEADER_VERSION);
+            bytes.write(id);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 64 * 1024)) {
+                writeJson(object, gzip);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode cache entry", e);
+        }
+    }
+
+    /**
+     * Decode the file at the given path whatever its format
+     * @param path The path to the file
+     * @param clazz The class of the object
+     * @param <T> The type of the object
+     * @return The decoded object
+     */
+    public static <T> T decode(Path path, Class<T> clazz) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            in.mark(HEADER_SIZE);
+            byte[] header = in.readNBytes(HEADER_SIZE);
+            CacheFormat format = detect(header);
+            if (format == JSON) {
+                in.reset();
+                return readJson(in, clazz);
+            }
+            try (InputStream gzip = new GZIPInputStream(in, 64 * 1024)) {
+                return readJson(gzip, clazz);
+            }
+        }
+    }
+
+    /**
+     * Detect the format from the header of a file
+     * @param header The first bytes of the file
+     * @return The format
+     */
+    static CacheFormat detect(byte[] header) throws UnsupportedFormatException {
+        if (header.length < HEADER_SIZE || !Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            // Empty entries are left to the JSON reader which reports them as empty
+            if (header.length == 0 || header[0] == '{') {
+                return JSON;
+            }
+            throw new UnsupportedFormatException("Unrecognized cache entry header");
+        }
+        if (header[MAGIC.length] != HEADER_VERSION) {
+            throw new UnsupportedFormatException("Unsupported cache header version " + header[MAGIC.length]);
+        }
+        byte id = header[MAGIC.length + 1];
+        return Arrays.stream(values())
+                .filter(format -> format.id == id)
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedFormatException("Unsupported cache format " + id));
+    }
+
+    private static void writeJson(Object object, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        JsonUtils.toJson(object, writer);
+        writer.flush();
+    }
+
+    private static <T> T readJson(InputStream in, Class<T> clazz) {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return JsonUtils.fromJson(reader, clazz);
+    }
+
+    /**
+     * Thrown when an entry was not written in a known format, for example by a newer version
+     */
+    public static class UnsupportedFormatException extends IOException {
+
+        public UnsupportedFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package io.jenkins.tools.pluginmodernizer.core.impl;
 
+import com.google.gson.JsonParseException;
+import io.jenkins.tools.pluginmodernizer.core.jfr.CacheEvent;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildWorkspace;
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
-import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.AtomicFileUtils;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipException;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,18 +37,45 @@ public class CacheManager {
     public static final String INSTALLATION_STATS_KEY = "plugin-installation-stats";
     public static final String PLUGIN_METADATA_CACHE_KEY = "plugin-metadata";
 
+    /**
+     * Marker file updated each time a plugin directory is used. Its modification time drives LRU eviction
+     */
+    public static final String LAST_ACCESS_MARKER = ".last-access";
+
+    /**
+     * Plugin subdirectories that can be evicted, in eviction order (isolated workspaces and build outputs first,
+     * then checkouts)
+     */
+    private static final List<Path> EVICTABLE_PLUGIN_DIRECTORIES = List.of(
+            Path.of(BuildWorkspace.WORKSPACES_DIRECTORY), Path.of("sources", "target"), Path.of("sources"));
+
     private static final Logger LOG = LoggerFactory.getLogger(CacheManager.class);
 
     private final Path location;
     private final Clock clock;
     private final boolean expires;
+    private final CacheStatistics statistics;
 
     /**
-     * Creates a new cache manager
+     * Format of the entries written to the cache by key. Other keys are stored as plain JSON
+     */
+    private final Map<String, CacheFormat> formats;
+
+    /**
+     * Creates a new cache manager with its own statistics
      * @param cache The location of the cache
      */
     public CacheManager(Path cache) {
-        this(cache, Clock.systemDefaultZone(), true);
+        this(cache, new CacheStatistics());
+    }
+
+    /**
+     * Creates a new cache manager
+     * @param cache The location of the cache
+     * @param statistics The statistics to record cache usage
+     */
+    public CacheManager(Path cache, CacheStatistics statistics) {
+        this(cache, Clock.systemDefaultZone(), true, statistics);
     }
 
     /**
@@ -44,9 +85,46 @@ public class CacheManager {
      * @param expires Whether the cache expires
      */
     CacheManager(Path cache, Clock clock, boolean expires) {
+        this(cache, clock, expires, new CacheStatistics());
+    }
+
+    /**
+     * Creates a new cache manager with a custom clock, expiration and statistics
+     * @param cache The location of the cache
+     * @param clock The clock to use
+     * @param expires Whether the cache expires
+     * @param statistics The statistics to record cache usage
+     */
+    CacheManager(Path cache, Clock clock, boolean expires, CacheStatistics statistics) {
+        this(cache, clock, expires, statistics, Map.of());
+    }
+
+    private CacheManager(
+            Path cache, Clock clock, boolean expires, CacheStatistics statistics, Map<String, CacheFormat> formats) {
         this.location = cache;
         this.clock = clock;
         this.expires = expires;
+        this.statistics = statistics;
+        this.formats = formats;
+    }
+
+    /**
+     * Creates a cache manager for another directory recording its usage to the statistics of this cache manager
+     * @param cache The location of the other cache
+     * @return The cache manager
+     */
+    public CacheManager withLocation(Path cache) {
+        return new CacheManager(cache, clock, expires, statistics, formats);
+    }
+
+    /**
+     * Creates a cache manager writing the entries of the given keys in another format than plain JSON.
+     * Entries are read whatever their format
+     * @param formats The formats by cache key
+     * @return The cache manager
+     */
+    public CacheManager withFormats(Map<String, CacheFormat> formats) {
+        return new CacheManager(location, clock, expires, statistics, Map.copyOf(formats));
     }
 
     /**
@@ -80,7 +158,135 @@ public class CacheManager {
     }
 
     /**
-     * Put an object to the cache
+     * Record an access to a plugin directory of the cache
+     * @param path The plugin directory relative to the cache
+     */
+    public void touch(Path path) {
+        Path marker = location.resolve(path).resolve(LAST_ACCESS_MARKER);
+        try {
+            Files.createDirectories(marker.getParent());
+            if (Files.notExists(marker)) {
+                Files.createFile(marker);
+            }
+            Files.setLastModifiedTime(marker, FileTime.from(clock.instant()));
+        } catch (IOException e) {
+            LOG.debug("Unable to record access to {}", marker, e);
+        }
+    }
+
+    /**
+     * Evict least recently used plugin data until the cache is under the given size.
+     * Build outputs (target directories) are removed first, then whole checkouts.
+     * Cache entries (metadata, update center, ...) and JDKs are never evicted.
+     * @param maxSize The maximum size in bytes
+     * @param keep Name of plugin directories that must not be evicted
+     * @param dryRun Only compute the paths that would be removed
+     * @return The removed (or to be removed) paths and the size of the cache after eviction
+     */
+    public Eviction evict(long maxSize, Set<String> keep, boolean dryRun) {
+        if (!Files.isDirectory(location)) {
+            return new Eviction(List.of(), 0);
+        }
+        long size = sizeOf(location);
+        if (size <= maxSize) {
+            LOG.debug(
+                    "Cache size {} is under budget {}",
+                    FileUtils.byteCountToDisplaySize(size),
+                    FileUtils.byteCountToDisplaySize(maxSize));
+            return new Eviction(List.of(), size);
+        }
+        List<Path> candidates = pluginDirectories().stream()
+                .filter(directory -> !keep.contains(directory.getFileName().toString()))
+                .sorted(Comparator.comparing(this::lastAccess))
+                .toList();
+        List<Path> removed = new ArrayList<>();
+        for (Path evictable : EVICTABLE_PLUGIN_DIRECTORIES) {
+            for (Path candidate : candidates) {
+                if (size <= maxSize) {
+                    return new Eviction(removed, size);
+                }
+                Path directory = candidate.resolve(evictable);
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                long directorySize = sizeOf(directory);
+                if (!dryRun) {
+                    try {
+                        FileUtils.deleteDirectory(directory.toFile());
+                    } catch (IOException e) {
+                        LOG.warn("Unable to evict {}", directory, e);
+                        continue;
+                    }
+                }
+                LOG.debug("Evicted {} ({})", directory, FileUtils.byteCountToDisplaySize(directorySize));
+                size -= directorySize;
+                removed.add(directory);
+            }
+        }
+        if (size > maxSize) {
+            LOG.warn(
+                    "Cache size {} is still above budget {} after evicting plugin data",
+                    FileUtils.byteCountToDisplaySize(size),
+                    FileUtils.byteCountToDisplaySize(maxSize));
+        }
+        return new Eviction(removed, size);
+    }
+
+    /**
+     * List the plugin directories of the cache (the ones with a checkout)
+     * @return The plugin directories
+     */
+    private List<Path> pluginDirectories() {
+        try (Stream<Path> directories = Files.list(location)) {
+            return directories
+                    .filter(directory -> Files.isDirectory(directory.resolve("sources")))
+                    .toList();
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to list cache directory " + location, e);
+        }
+    }
+
+    /**
+     * Last access of a plugin directory
+     * @param directory The plugin directory
+     * @return The last access time
+     */
+    private FileTime lastAccess(Path directory) {
+        for (Path path : List.of(directory.resolve(LAST_ACCESS_MARKER), directory.resolve("sources"))) {
+            try {
+                return Files.getLastModifiedTime(path);
+            } catch (IOException e) {
+                LOG.trace("No access time for {}", path);
+            }
+        }
+        return FileTime.fromMillis(0);
+    }
+
+    /**
+     * Compute the size of a file or directory without following symbolic links
+     * @param path The path
+     * @return The size in bytes
+     */
+    private long sizeOf(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> {
+                        try {
+                            return Files.size(file);
+                        } catch (IOException e) {
+                            return 0L;
+                        }
+                    })
+                    .sum();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.debug("Unable to compute size of {}", path, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * Put an object to the cache.
+     * The entry is written to a temporary file and atomically renamed while holding the entry lock
      * @param entry The object to store
      */
     public void put(CacheEntry<? extends CacheEntry<?>> entry) {
@@ -91,7 +297,49 @@ public class CacheManager {
             throw new ModernizerException("Cache entry path is null");
         }
         Path fileToCache = location.resolve(entry.getPath()).resolve(entry.getKey());
-        JsonUtils.toJsonFile(entry, fileToCache);
+        CacheEvent event = new CacheEvent(CacheEvent.WRITE, entry.getPath().toString(), entry.getKey());
+        event.begin();
+        byte[] content = getFormat(entry.getKey()).encode(entry);
+        try (AtomicFileUtils.Lock ignored = lock(entry.getPath(), entry.getKey())) {
+            AtomicFileUtils.write(fileToCache, content);
+            statistics.of(entry.getKey()).recordWrite(content.length);
+            event.setHit(true);
+            event.setSize(content.length);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write cache entry for key: " + entry.getKey(), e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Get the format used to store the entries of the given key
+     * @param cacheKey The cache key
+     * @return The format
+     */
+    public CacheFormat getFormat(String cacheKey) {
+        return formats.getOrDefault(cacheKey, CacheFormat.JSON);
+    }
+
+    /**
+     * Acquire the lock of a cache entry to protect read-modify-write sequences.
+     * The lock is shared with other threads and other processes using the same cache directory
+     * @param path subdirectory of the object
+     * @param cacheKey key of the object
+     * @return The lock to close when done
+     */
+    public AtomicFileUtils.Lock lock(Path path, String cacheKey) {
+        return AtomicFileUtils.lock(getLockFile(path, cacheKey));
+    }
+
+    /**
+     * Get the lock file of a cache entry, to lock it together with other entries
+     * @param path subdirectory of the object
+     * @param cacheKey key of the object
+     * @return The lock file
+     */
+    public Path getLockFile(Path path, String cacheKey) {
+        return location.resolve(path).resolve("." + cacheKey + ".lock");
     }
 
     /**
@@ -105,10 +353,33 @@ public class CacheManager {
      * @return the cached json object as a string or null
      */
     public <T extends CacheEntry<T>> T get(Path path, String cacheKey, Class<T> clazz) {
+        CacheEvent event = new CacheEvent(CacheEvent.READ, path.toString(), cacheKey);
+        event.begin();
+        T entry = null;
+        try {
+            entry = read(path, cacheKey, clazz, event);
+            return entry;
+        } finally {
+            event.setHit(entry != null);
+            event.commit();
+        }
+    }
+
+    /**
+     * Read and decode a cache entry
+     * @param path subdirectory of the object
+     * @param cacheKey key to lookup
+     * @param clazz The class of the entry
+     * @param event The flight recorder event of the read
+     * @return the entry or null if missing, expired or corrupted
+     */
+    private <T extends CacheEntry<T>> T read(Path path, String cacheKey, Class<T> clazz, CacheEvent event) {
         Path cachedPath = location.resolve(path).resolve(cacheKey);
+        CacheStatistics.KeyStatistics keyStatistics = statistics.of(cacheKey);
         try {
-            FileTime lastModifiedTime = Files.getLastModifiedTime(cachedPath);
-            Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
+            BasicFileAttributes attributes = Files.readAttributes(cachedPath, BasicFileAttributes.class);
+            event.setSize(attributes.size());
+            Duration between = Duration.between(attributes.lastModifiedTime().toInstant(), clock.instant());
             long betweenHours = between.toHours();
 
             if (betweenHours > 0L) {
@@ -116,16 +387,43 @@ public class CacheManager {
                         "Cache entry expired: {}{}",
                         cacheKey,
                         expires ? ". Will skip it" : ". Will accept it, because expiration is disabled");
+                keyStatistics.recordExpiration();
                 if (expires) {
+                    keyStatistics.recordMiss();
                     return null;
                 }
             }
             LOG.debug("Cache entry found for cache {} at path {} and key {}", location, path, cacheKey);
-            T entry = JsonUtils.fromJson(cachedPath, clazz);
+            long start = System.nanoTime();
+            T entry = CacheFormat.decode(cachedPath, clazz);
+            long deserializationTime = System.nanoTime() - start;
+            if (entry == null) {
+                LOG.warn("Ignoring empty cache entry for cache {} at path {} and key {}", location, path, cacheKey);
+                keyStatistics.recordMiss();
+                return null;
+            }
+            keyStatistics.recordHit(attributes.size(), deserializationTime);
+            // Location of the entry is authoritative over the serialized fields (entries can be relocated)
             entry.setCacheManager(this);
+            entry.setPath(path);
+            entry.setKey(cacheKey);
             return entry;
         } catch (NoSuchFileException e) {
             LOG.debug("Cache entry not found for cache {} at path {} and key {}", location, path, cacheKey);
+            keyStatistics.recordMiss();
+            return null;
+        } catch (CacheFormat.UnsupportedFormatException e) {
+            LOG.warn(
+                    "Ignoring cache entry in an unsupported format for cache {} at path {} and key {}: {}",
+                    location,
+                    path,
+                    cacheKey,
+                    e.getMessage());
+            keyStatistics.recordMiss();
+            return null;
+        } catch (JsonParseException | ZipException | EOFException e) {
+            LOG.warn("Ignoring corrupted cache entry for cache {} at path {} and key {}", location, path, cacheKey);
+            keyStatistics.recordMiss();
             return null;
         } catch (IOException e) {
             throw new ModernizerException("Failed to read cache entry for key: " + cacheKey, e);
@@ -138,7 +436,7 @@ public class CacheManager {
      */
     public void remove(Path path, String cacheKey) {
         Path fileToRemove = location.resolve(path).resolve(cacheKey);
-        try {
+        try (AtomicFileUtils.Lock ignored = lock(path, cacheKey)) {
             if (Files.exists(fileToRemove)) {
                 Files.delete(fileToRemove);
                 LOG.debug("Cache entry removed for key: {} at location {}", cacheKey, location);
@@ -148,6 +446,29 @@ public class CacheManager {
         }
     }
 
+    /**
+     * Move or copy an existing cache file into this cache without parsing or serializing it
+     * @param source The file to transfer
+     * @param path The target subdirectory
+     * @param cacheKey The target key
+     * @param copy True to keep the source file
+     */
+    public void transfer(Path source, Path path, String cacheKey, boolean copy) {
+        Path target = location.resolve(path).resolve(cacheKey);
+        try (AtomicFileUtils.Lock ignored = lock(path, cacheKey)) {
+            if (copy) {
+                AtomicFileUtils.write(target, Files.readAllBytes(source));
+            } else {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                AtomicFileUtils.move(source, target);
+            }
+            statistics.of(cacheKey).recordWrite(Files.size(target));
+            LOG.debug("Cache entry {} {} to {}", source, copy ? "copied" : "moved", target);
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to transfer cache entry " + source + " to " + target, e);
+        }
+    }
+
     /**
      * Move a cache entry to the new cache manager
      * @param cacheManager The cache manager
@@ -172,6 +493,14 @@ public class CacheManager {
         return entry.copy(cacheManager, newPath, newKey);
     }
 
+    /**
+     * Expose the cache usage of this cache manager as metrics computed when scraped
+     * @param metrics The metrics registry
+     */
+    public void registerMetrics(MetricsRegistry metrics) {
+        metrics.gauge("cache_hit_ratio", "Ratio of cache reads served from the cache", statistics::getHitRatio);
+    }
+
     /**
      * Get the location of the cache
      * @return The location
@@ -187,4 +516,11 @@ public class CacheManager {
     public Path root() {
         return Path.of(".");
     }
+
+    /**
+     * Result of a cache eviction
+     * @param removed The removed (or to be removed) paths
+     * @param size The size in bytes of the cache after eviction
+     */
+    public record Eviction(List<Path> removed, long size) {}
 }
@@ -0,0 +1,208 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Counters and latency histograms of cache usage by cache key.
+ * A single instance is bound for the run. Cache managers of plugin directories derived from the main cache manager
+ * share its statistics, so their entries are accounted together with the catalog entries of the main cache.
+ */
+public class CacheStatistics {
+
+    private final Map<String, KeyStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Get the statistics of a cache key, created on first use
+     * @param cacheKey The cache key
+     * @return The statistics of the key
+     */
+    public KeyStatistics of(String cacheKey) {
+        return statistics.computeIfAbsent(cacheKey, KeyStatistics::new);
+    }
+
+    /**
+     * Get the statistics of all used cache keys sorted by key
+     * @return The statistics by cache key
+     */
+    public SortedMap<String, KeyStatistics> getAll() {
+        return new TreeMap<>(statistics);
+    }
+
+    /**
+     * Ratio of lookups served from the cache across all keys
+     * @return The hit ratio between 0 and 1 or 0 if the cache was never read
+     */
+    public double getHitRatio() {
+        long hits = 0;
+        long lookups = 0;
+        for (KeyStatistics keyStatistics : statistics.values()) {
+            hits += keyStatistics.getHits();
+            lookups += keyStatistics.getHits() + keyStatistics.getMisses();
+        }
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Statistics of a single cache key
+     */
+    public static class KeyStatistics {
+
+        private final String key;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LatencyHistogram deserialization = new LatencyHistogram();
+
+        private KeyStatistics(String key) {
+            this.key = key;
+        }
+
+        void recordHit(long bytes, long deserializationNanos) {
+            hits.increment();
+            bytesRead.add(bytes);
+            deserialization.record(deserializationNanos);
+        }
+
+        void recordMiss() {
+            misses.increment();
+        }
+
+        void recordExpiration() {
+            expirations.increment();
+        }
+
+        void recordWrite(long bytes) {
+            bytesWritten.add(bytes);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getExpirations() {
+            return expirations.sum();
+        }
+
+        public long getBytesRead() {
+            return bytesRead.sum();
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten.sum();
+        }
+
+        public LatencyHistogram getDeserialization() {
+            return deserialization;
+        }
+
+        /**
+         * Ratio of lookups served from the cache
+         * @return The hit ratio between 0 and 1 or 0 if the key was never read
+         */
+        public double getHitRatio() {
+            long lookups = getHits() + getMisses();
+            return lookups == 0 ? 0 : (double) getHits() / lookups;
+        }
+
+        /**
+         * One line summary for the end-of-run report
+         * @return The summary
+         */
+        public String summary() {
+            return String.format(
+                    "%s: %d hits, %d misses (%d expired), hit ratio %.0f%%, read %s, written %s, "
+                            + "deserialization p50 %d ms, p95 %d ms, max %d ms",
+                    key,
+                    getHits(),
+                    getMisses(),
+                    getExpirations(),
+                    getHitRatio() * 100,
+                    FileUtils.byteCountToDisplaySize(getBytesRead()),
+                    FileUtils.byteCountToDisplaySize(getBytesWritten()),
+                    TimeUnit.NANOSECONDS.toMillis(deserialization.percentile(0.50)),
+                    TimeUnit.NANOSECONDS.toMillis(deserialization.percentile(0.95)),
+                    TimeUnit.NANOSECONDS.toMillis(deserialization.getMax()));
+        }
+    }
+
+    /**
+     * Lock-free histogram with power of two buckets. Percentiles are approximated by the upper bound
+     * of their bucket, which is enough to tell a 5 ms read from a 500 ms one
+     */
+    public static class LatencyHistogram {
+
+        /**
+         * Bucket i holds values below 2^i nanoseconds. The last bucket holds everything else
+         */
+        private static final int BUCKETS = 40;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Record a value
+         * @param nanos The value in nanoseconds
+         */
+        public void record(long nanos) {
+            long value = Math.max(nanos, 0);
+            int bucket = Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotal() {
+            return total.sum();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Approximate percentile
+         * @param quantile The quantile between 0 and 1
+         * @return The upper bound of the bucket holding the percentile in nanoseconds, capped by the max
+         */
+        public long percentile(double quantile) {
+            long recorded = getCount();
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * recorded);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(i == 0 ? 0 : 1L << i, getMax());
+                }
+            }
+            return getMax();
+        }
+    }
+}
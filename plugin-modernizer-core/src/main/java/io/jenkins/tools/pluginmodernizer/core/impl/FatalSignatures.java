@@ -0,0 +1,129 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Catalog of Maven output signatures of builds that cannot succeed. A build printing one of them is aborted instead of
+ * waiting for Maven to exit, which can take minutes of retries.
+ * The default catalog is a resource of the tool, entries can be added or overridden with a properties file.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Catalog path from the command line")
+public final class FatalSignatures {
+
+    /**
+     * Resource of the default catalog
+     */
+    public static final String DEFAULT_CATALOG = "fatal-signatures.properties";
+
+    private static final String PATTERN_SUFFIX = ".pattern";
+
+    private static final String DESCRIPTION_SUFFIX = ".description";
+
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[;\\d]*m");
+
+    private final List<Signature> signatures;
+
+    private FatalSignatures(List<Signature> signatures) {
+        this.signatures = List.copyOf(signatures);
+    }
+
+    /**
+     * Load the default catalog with the entries of a properties file
+     * @param file The properties file adding or overriding entries, or null for the default catalog only
+     * @return The catalog
+     */
+    public static FatalSignatures load(@Nullable Path file) {
+        Properties properties = new Properties();
+        try (InputStream input = FatalSignatures.class.getClassLoader().getResourceAsStream(DEFAULT_CATALOG)) {
+            if (input == null) {
+                throw new ModernizerException("Fatal signatures catalog " + DEFAULT_CATALOG + " not found");
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to read fatal signatures catalog " + DEFAULT_CATALOG, e);
+        }
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new ModernizerException("Unable to read fatal signatures from " + file, e);
+            }
+        }
+        return of(properties);
+    }
+
+    /**
+     * Create a catalog from properties
+     * @param properties The {@code <id>.pattern} and {@code <id>.description} properties
+     * @return The catalog, by ID
+     */
+    static FatalSignatures of(Properties properties) {
+        List<Signature> signatures = new ArrayList<>();
+        properties.stringPropertyNames().stream()
+                .filter(key -> key.endsWith(PATTERN_SUFFIX))
+                .sorted()
+                .forEach(key -> {
+                    String id = key.substring(0, key.length() - PATTERN_SUFFIX.length());
+                    String pattern = properties.getProperty(key).trim();
+                    if (pattern.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        signatures.add(new Signature(
+                                id,
+                                properties.getProperty(id + DESCRIPTION_SUFFIX, id).trim(),
+                                Pattern.compile(pattern)));
+                    } catch (PatternSyntaxException e) {
+                        throw new ModernizerException("Invalid pattern of fatal signature " + id, e);
+                    }
+                });
+        return new FatalSignatures(signatures);
+    }
+
+    /**
+     * Find the first signature found in an output line
+     * @param line The output line
+     * @return The signature or null if the line is not fatal
+     */
+    public @Nullable Signature match(String line) {
+        if (line == null || signatures.isEmpty()) {
+            return null;
+        }
+        String text = ANSI.matcher(line).replaceAll("");
+        for (Signature signature : signatures) {
+            if (signature.pattern().matcher(text).find()) {
+                return signature;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the signatures of the catalog
+     * @return The signatures by ID
+     */
+    public List<Signature> getSignatures() {
+        return signatures;
+    }
+
+    /**
+     * Output signature of a build that cannot succeed
+     * @param id The ID of the signature (e.g., "unresolvable-parent")
+     * @param description The explanation of the failure
+     * @param pattern The regular expression found in the output line
+     */
+    public record Signature(String id, String description, Pattern pattern) {}
+}
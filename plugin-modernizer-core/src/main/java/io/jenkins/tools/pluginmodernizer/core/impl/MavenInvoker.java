@@ -4,18 +4,27 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.MavenInvocationEvent;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildWorkspace;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildCost;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildScheduler;
+import io.jenkins.tools.pluginmodernizer.core.tracing.Span;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import jakarta.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
@@ -49,6 +58,30 @@ public class MavenInvoker {
     @Inject
     private Invoker invoker;
 
+    /**
+     * The report of stage durations
+     */
+    @Inject
+    private RunReport runReport;
+
+    /**
+     * The live metrics of the run
+     */
+    @Inject
+    private MetricsRegistry metrics;
+
+    /**
+     * The output signatures on which builds are aborted
+     */
+    @Inject
+    private FatalSignatures fatalSignatures;
+
+    /**
+     * Limits the builds running at the same time to the resources of the host
+     */
+    @Inject
+    private BuildScheduler scheduler;
+
     /**
      * Get the maven version
      * @return The maven version
@@ -79,7 +112,7 @@ public class MavenInvoker {
         LOG.debug("Running {} phase for plugin {}", goal, plugin.getName());
         LOG.debug(
                 "Running maven on directory {}",
-                plugin.getLocalRepository().toAbsolutePath().toFile());
+                plugin.getWorkspace().getDirectory().toAbsolutePath().toFile());
         invokeGoals(plugin, goal);
     }
 
@@ -122,15 +155,122 @@ public class MavenInvoker {
     }
 
     /**
-     * Invoke a list of maven goal on the plugin
+     * Invoke a list of maven goal on the plugin and record its duration in the run report
      * @param plugin The plugin to run the goals on
      * @param goals The list of goals to run
      */
     private void invokeGoals(Plugin plugin, String... goals) {
+        runReport.time(plugin, "mvn " + getStageName(goals[0]), () -> doInvokeGoals(plugin, goals));
+    }
+
+    /**
+     * Get a short stage name for the first goal of an invocation
+     * @param goal The goal. For example, "clean" or "org.openrewrite.maven:rewrite-maven-plugin:6.0.0:run"
+     * @return The stage name. For example, "clean" or "rewrite-maven-plugin:run"
+     */
+    private String getStageName(String goal) {
+        String[] parts = goal.split(":");
+        return parts.length > 2 ? parts[1] + ":" + parts[parts.length - 1] : goal;
+    }
+
+    /**
+     * Invoke a list of maven goal on the plugin
+     * @param plugin The plugin to run the goals on. Its current span is the span of the invocation
+     * @param goals The list of goals to run
+     */
+    private void doInvokeGoals(Plugin plugin, String... goals) {
         validatePom(plugin);
+        Invocation invocation =
+                invoke(plugin, plugin.getWorkspace(), plugin.getJDK(), null, plugin.getSpan(), "", goals);
+        handleInvocationResult(plugin, invocation);
+    }
+
+    /**
+     * Invoke verify with a given JDK in a given workspace.
+     * Unlike other goals, the plugin state is not changed so several JDKs can be verified concurrently.
+     * @param plugin The plugin to verify
+     * @param jdk The JDK to use
+     * @param workspace The workspace to build
+     * @return True if the build succeeded
+     */
+    public boolean verify(Plugin plugin, JDK jdk, BuildWorkspace workspace) {
+        String prefix = "[JDK %d] ".formatted(jdk.getMajor());
+        // Child of the span of the plugin without replacing it, other JDKs may be verified concurrently
+        Span span = runReport
+                .getTracer()
+                .start("mvn verify jdk-" + jdk.getMajor(), plugin.getSpan())
+                .setAttribute("plugin.name", plugin.getName())
+                .setAttribute("maven.workspace", workspace.toString());
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            InvocationRequest request = createInvocationRequest(plugin, goals);
-            JDK jdk = plugin.getJDK();
+            Invocation invocation = invoke(plugin, workspace, jdk, "jdk-" + jdk.getMajor(), span, prefix, "verify");
+            String excerpt = System.lineSeparator() + String.join(System.lineSeparator(), invocation.excerpt());
+            if (invocation.failure() != null) {
+                LOG.error(plugin.getMarker(), prefix + "Maven invocation failed", invocation.failure());
+            } else if (invocation.abort() != null) {
+                LOG.error(
+                        plugin.getMarker(),
+                        prefix + "Build aborted: {}{}",
+                        invocation.abort().description(),
+                        excerpt);
+            } else if (invocation.result().getExitCode() != 0) {
+                LOG.error(
+                        plugin.getMarker(),
+                        prefix + "Build fail with code: {}{}",
+                        invocation.result().getExitCode(),
+                        excerpt);
+            } else {
+                success = true;
+            }
+            return success;
+        } finally {
+            runReport.record(
+                    plugin.getName(),
+                    "mvn verify jdk-" + jdk.getMajor(),
+                    Duration.ofNanos(System.nanoTime() - start),
+                    success);
+            if (!success) {
+                span.setError("Verification with JDK " + jdk.getMajor() + " failed");
+            }
+            span.end();
+        }
+    }
+
+    /**
+     * Run Maven goals in a workspace. The output feeds the build log, the mojo timings, the output excerpt and the
+     * detection of fatal signatures. The invocation is recorded as a JFR event, on its span and in the mojo timings
+     * @param plugin The plugin
+     * @param workspace The workspace to build
+     * @param jdk The JDK to use or null for the default one
+     * @param logName The name of the build log or null for the main build log of the plugin
+     * @param span The span of the invocation
+     * @param prefix The prefix of the log messages
+     * @param goals The list of goals to run
+     * @return The outcome of the invocation
+     */
+    private Invocation invoke(
+            Plugin plugin,
+            BuildWorkspace workspace,
+            @Nullable JDK jdk,
+            @Nullable String logName,
+            Span span,
+            String prefix,
+            String... goals) {
+        String stage = getStageName(goals[0]);
+        MavenInvocationEvent event =
+                new MavenInvocationEvent(plugin.getName(), String.join(" ", goals), jdk != null ? jdk.getMajor() : 0);
+        event.begin();
+        span.setAttribute("maven.goals", String.join(" ", goals));
+        if (jdk != null) {
+            span.setAttribute("maven.jdk", jdk.getMajor());
+        }
+        MojoTimingParser mojos = new MojoTimingParser();
+        OutputExcerpt excerpt = newOutputExcerpt();
+        long start = System.nanoTime();
+        try (BuildLog buildLog = BuildLog.open(plugin.getBuildLogFile(logName))) {
+            InvocationRequest request = createInvocationRequest(workspace, goals);
+            MavenProcess process = new MavenProcess(request);
             if (jdk != null) {
                 Path jdkPath = jdk.getHome(jdkFetcher);
                 request.setJavaHome(jdkPath.toFile());
@@ -139,25 +279,154 @@ public class MavenInvoker {
             request.setBatchMode(true);
             request.setNoTransferProgress(false);
             request.setErrorHandler((message) -> {
-                LOG.error(plugin.getMarker(), String.format("Something went wrong when running maven: %s", message));
+                excerpt.accept(message);
+                buildLog.println("Something went wrong when running maven: " + message);
             });
             request.setOutputHandler((message) -> {
-                LOG.info(plugin.getMarker(), message);
+                mojos.accept(message);
+                excerpt.accept(message);
+                buildLog.println(message);
+                abortOnFatalSignature(plugin, process, message);
             });
-            InvocationResult result = invoker.execute(request);
-            handleInvocationResult(plugin, result);
-        } catch (MavenInvocationException | InterruptedException | IOException e) {
-            plugin.addError("Maven invocation failed", e);
+            LOG.info(
+                    plugin.getMarker(),
+                    prefix + "Running mvn {} in {}, output in {}",
+                    stage,
+                    workspace,
+                    buildLog.getFile());
+            buildLog.println("mvn " + String.join(" ", goals));
+            InvocationResult result = execute(request, stage, process);
+            event.setExitCode(result.getExitCode());
+            span.setAttribute("maven.exit_code", result.getExitCode());
+            LOG.info(
+                    plugin.getMarker(),
+                    prefix + "Maven exited with code {} after {} s",
+                    result.getExitCode(),
+                    Duration.ofNanos(System.nanoTime() - start).toSeconds());
+            MavenProcess.Abort abort = process.getAbort();
+            if (abort != null) {
+                span.setAttribute("maven.abort_reason", abort.reason());
+            }
+            return new Invocation(result, abort, null, excerpt.lines());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Invocation(null, null, e, excerpt.lines());
+        } catch (MavenInvocationException | IOException e) {
+            return new Invocation(null, null, e, excerpt.lines());
+        } finally {
+            recordMojoTimings(plugin, mojos.finish());
+            event.commit();
         }
     }
 
+    /**
+     * Abort an invocation if an output line matches a fatal signature
+     * @param plugin The plugin
+     * @param process The Maven process of the invocation
+     * @param line The output line
+     */
+    private void abortOnFatalSignature(Plugin plugin, MavenProcess process, String line) {
+        if (process.getAbort() != null) {
+            return;
+        }
+        FatalSignatures.Signature signature = fatalSignatures.match(line);
+        if (signature != null && process.abort(signature.id(), signature.description())) {
+            LOG.warn(plugin.getMarker(), "Aborting Maven build of plugin {}: {}", plugin.getName(), line);
+        }
+    }
+
+    /**
+     * Execute a Maven invocation, counting the Maven processes in progress and the invocations by outcome.
+     * The invocation waits until the host has the resources estimated for its type of build, and is aborted if it
+     * exceeds the timeout of its type. The resources used by successful invocations refine the estimates
+     * @param request The invocation request
+     * @param goal The short name of the first goal
+     * @param process The Maven process of the invocation
+     * @return The invocation result
+     * @throws MavenInvocationException If Maven could not be started
+     * @throws InterruptedException If interrupted while waiting for resources
+     */
+    private InvocationResult execute(InvocationRequest request, String goal, MavenProcess process)
+            throws MavenInvocationException, InterruptedException {
+        MetricsRegistry.Gauge inProgress =
+                metrics.gauge("maven_invocations_in_progress", "Maven processes currently running");
+        MetricsRegistry.Counter invocations =
+                metrics.counter("maven_invocations_total", "Maven invocations by goal and outcome", "goal", "outcome");
+        String type = getBuildType(goal);
+        try (BuildScheduler.Lease lease = scheduler.acquire(type)) {
+            Duration timeout = getTimeout(type);
+            Future<?> watchdog = timeout != null ? process.abortAfter(timeout) : null;
+            Future<?> sampling = process.measure();
+            inProgress.inc();
+            String outcome = "error";
+            long start = System.nanoTime();
+            try {
+                InvocationResult result = invoker.execute(request);
+                MavenProcess.Abort abort = process.getAbort();
+                if (abort != null) {
+                    outcome = abort.reason().equals(MavenProcess.TIMEOUT) ? "timeout" : "aborted";
+                } else {
+                    outcome = result.getExitCode() == 0 ? "success" : "failure";
+                }
+                BuildCost cost = process.getCost(Duration.ofNanos(System.nanoTime() - start));
+                if (cost != null && outcome.equals("success")) {
+                    lease.learn(cost);
+                }
+                return result;
+            } finally {
+                sampling.cancel(false);
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                inProgress.dec();
+                invocations.inc(goal, outcome);
+            }
+        }
+    }
+
+    /**
+     * Get the type of build of an invocation from its first goal
+     * @param goal The short name of the first goal
+     * @return The type of build: "verify", "rewrite" or "compile"
+     */
+    private static String getBuildType(String goal) {
+        return switch (goal) {
+            case "verify" -> "verify";
+            case "rewrite-maven-plugin:run" -> "rewrite";
+            default -> "compile";
+        };
+    }
+
+    /**
+     * Get the timeout of a type of build
+     * @param type The type of build
+     * @return The timeout or null if unlimited
+     */
+    private @Nullable Duration getTimeout(String type) {
+        return switch (type) {
+            case "verify" -> config.getVerifyTimeout();
+            case "rewrite" -> config.getRewriteTimeout();
+            default -> config.getCompileTimeout();
+        };
+    }
+
+    /**
+     * Attach the mojo timings of a build to the plugin and to the run report
+     * @param plugin The plugin
+     * @param timings The mojo timings of the build
+     */
+    private void recordMojoTimings(Plugin plugin, List<MojoTiming> timings) {
+        plugin.addMojoTimings(timings);
+        runReport.recordMojos(plugin.getName(), timings);
+    }
+
     /**
      * Validate a pom exist for the given plugin
      * @param plugin The plugin to validate
      */
     private void validatePom(Plugin plugin) {
         LOG.debug("Validating POM for plugin: {}", plugin);
-        if (!plugin.getLocalRepository().resolve("pom.xml").toFile().isFile()) {
+        if (!plugin.getWorkspace().getPom().toFile().isFile()) {
             plugin.addError("POM file not found");
             throw new PluginProcessingException("POM file not found", plugin);
         }
@@ -208,15 +477,15 @@ public class MavenInvoker {
     }
 
     /**
-     * Create an invocation request for the plugin.
-     * @param plugin The plugin to run the goals on
+     * Create an invocation request for a workspace.
+     * @param workspace The workspace to build
      * @param args The list of args
      * @return The invocation request
      */
-    private InvocationRequest createInvocationRequest(Plugin plugin, String... args) {
+    private InvocationRequest createInvocationRequest(BuildWorkspace workspace, String... args) {
         InvocationRequest request = new DefaultInvocationRequest();
         request.setMavenHome(config.getMavenHome().toFile());
-        request.setPomFile(plugin.getLocalRepository().resolve("pom.xml").toFile());
+        request.setPomFile(workspace.getPom().toFile());
         request.addArgs(List.of(args));
         if (config.isDebug()) {
             request.addArg("-X");
@@ -224,16 +493,34 @@ public class MavenInvoker {
         return request;
     }
 
+    /**
+     * Create an excerpt of the output of an invocation
+     * @return The output excerpt
+     */
+    private OutputExcerpt newOutputExcerpt() {
+        return new OutputExcerpt(Settings.MAVEN_OUTPUT_TAIL_LINES, Settings.MAVEN_OUTPUT_ERROR_LINES);
+    }
+
     /**
      * Handle invocation result for the plugin
      * @param plugin The plugin
-     * @param result The invocation result
+     * @param invocation The outcome of the invocation, its output excerpt being attached to the error on failure
      */
-    private void handleInvocationResult(Plugin plugin, InvocationResult result) {
+    private void handleInvocationResult(Plugin plugin, Invocation invocation) {
+        if (invocation.failure() != null) {
+            plugin.addError("Maven invocation failed", invocation.failure(), invocation.excerpt());
+            return;
+        }
+        if (invocation.abort() != null) {
+            plugin.addError("Build aborted: " + invocation.abort().description(), invocation.excerpt());
+            return;
+        }
+        InvocationResult result = invocation.result();
         if (result.getExitCode() != 0) {
             LOG.error(plugin.getMarker(), "Build fail with code: {}", result.getExitCode());
             if (result.getExecutionException() != null) {
-                plugin.addError("Maven generic exception occurred", result.getExecutionException());
+                plugin.addError(
+                        "Maven generic exception occurred", result.getExecutionException(), invocation.excerpt());
             } else {
                 String errorMessage;
                 if (config.isDebug()) {
@@ -241,8 +528,21 @@ public class MavenInvoker {
                 } else {
                     errorMessage = "Build failed";
                 }
-                plugin.addError(errorMessage);
+                plugin.addError(errorMessage, invocation.excerpt());
             }
         }
     }
+
+    /**
+     * Outcome of a Maven invocation
+     * @param result The invocation result or null if Maven could not be run
+     * @param abort The abort of the invocation or null if it was not aborted
+     * @param failure The exception preventing Maven to run or null
+     * @param excerpt The excerpt of the output of the invocation
+     */
+    private record Invocation(
+            @Nullable InvocationResult result,
+            @Nullable MavenProcess.Abort abort,
+            @Nullable Exception failure,
+            List<String> excerpt) {}
 }
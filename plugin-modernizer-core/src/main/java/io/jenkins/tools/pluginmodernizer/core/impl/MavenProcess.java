@@ -0,0 +1,287 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildCost;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maven process of an invocation, to abort it before Maven exits.
+ * maven-invoker does not expose the process it starts, so the invocation is tagged with a unique system property and
+ * its processes are found among the descendants of this JVM by their command line. Aborting terminates them with
+ * their descendants (e.g., surefire forks), forcibly if they are still alive after a grace period.
+ * Invocations are aborted when an output line is fatal or when they exceed their timeout. An invocation aborted before
+ * Maven started is terminated as soon as its processes are found by the sampling.
+ * The processes are sampled while they run to measure the CPU time and peak resident memory of the invocation.
+ * The CPU time of a process includes its exited children (e.g., short-lived forks), and the exit of each process
+ * triggers a last sample so its parent accounts for its CPU time spent after the previous sample.
+ */
+final class MavenProcess {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProcess.class);
+
+    /**
+     * System property tagging the invocation
+     */
+    static final String ID_PROPERTY = "plugin-modernizer.invocation";
+
+    /**
+     * Reason of the abort of invocations exceeding their timeout
+     */
+    static final String TIMEOUT = "timeout";
+
+    /**
+     * Delay given to the processes to exit before being killed
+     */
+    private static final long GRACE_PERIOD_SECONDS = 10;
+
+    /**
+     * Interval between two samples of the resources used by the processes
+     */
+    private static final long SAMPLE_INTERVAL_MILLIS = 2000;
+
+    /**
+     * Duration of a clock tick of the times in /proc, USER_HZ being 100 on Linux
+     */
+    private static final long CLOCK_TICK_NANOS = 10_000_000;
+
+    /**
+     * Aborts invocations exceeding their timeout and samples their processes
+     */
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("maven-watchdog").factory());
+
+    private final String tag;
+
+    private final AtomicReference<Abort> abort = new AtomicReference<>();
+
+    /**
+     * Whether the processes of the aborted invocation were found and terminated
+     */
+    private final AtomicBoolean terminated = new AtomicBoolean();
+
+    /**
+     * CPU time of each process seen, kept after the process exits unless accounted by its parent
+     */
+    private final Map<Long, CpuTime> cpuTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Processes whose exit triggers a sample
+     */
+    private final Set<Long> watched = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong peakMemoryBytes = new AtomicLong();
+
+    /**
+     * Tag an invocation request
+     * @param request The invocation request
+     */
+    MavenProcess(InvocationRequest request) {
+        this.tag = "-D" + ID_PROPERTY + "=" + UUID.randomUUID();
+        request.addArg(tag);
+    }
+
+    /**
+     * Abort the invocation by terminating its processes. Only the first abort is recorded.
+     * If Maven is not started yet, its processes are terminated by the next sample finding them
+     * @param reason The short reason of the abort (e.g., "unresolvable-parent")
+     * @param description The explanation of the abort
+     * @return True if this call aborted the invocation
+     */
+    boolean abort(String reason, String description) {
+        if (!abort.compareAndSet(null, new Abort(reason, description))) {
+            return false;
+        }
+        List<ProcessHandle> processes = processes();
+        if (processes.isEmpty()) {
+            LOG.debug("Maven process not started yet, terminating it once found ({})", description);
+            return true;
+        }
+        terminate(processes);
+        return true;
+    }
+
+    /**
+     * Terminate the processes of the aborted invocation with their descendants, once
+     * @param processes The processes found
+     */
+    private void terminate(List<ProcessHandle> processes) {
+        if (processes.isEmpty() || !terminated.compareAndSet(false, true)) {
+            return;
+        }
+        LOG.debug("Terminating Maven processes {}", processes);
+        processes.forEach(ProcessHandle::destroy);
+        CompletableFuture.allOf(processes.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, GRACE_PERIOD_SECONDS, TimeUnit.SECONDS)
+                .thenRun(() -> processes.stream()
+                        .filter(ProcessHandle::isAlive)
+                        .forEach(ProcessHandle::destroyForcibly));
+    }
+
+    /**
+     * Abort the invocation if it is still running after a timeout
+     * @param timeout The timeout
+     * @return The scheduled abort, to cancel when the invocation ends
+     */
+    Future<?> abortAfter(Duration timeout) {
+        String description = "Maven did not complete within "
+                + timeout.toString().substring(2).toLowerCase(Locale.ROOT);
+        return WATCHDOG.schedule(() -> abort(TIMEOUT, description), timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sample the resources used by the processes until the invocation ends, terminating them if it was aborted
+     * @return The scheduled sampling, to cancel when the invocation ends
+     */
+    Future<?> measure() {
+        return WATCHDOG.scheduleAtFixedRate(
+                this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sample the CPU time and resident memory of the processes. Terminate them if the invocation was aborted before
+     * they were found
+     */
+    synchronized void sample() {
+        List<ProcessHandle> processes = processes();
+        if (abort.get() != null) {
+            terminate(processes);
+        }
+        Set<Long> running = new HashSet<>();
+        Set<Long> withChildren = new HashSet<>();
+        long memory = 0;
+        for (ProcessHandle process : processes) {
+            long pid = process.pid();
+            running.add(pid);
+            long children = childrenCpuNanos(pid);
+            if (children >= 0) {
+                withChildren.add(pid);
+            }
+            long cpu = process.info().totalCpuDuration().map(Duration::toNanos).orElse(0L) + Math.max(children, 0);
+            long parent = process.parent().map(ProcessHandle::pid).orElse(-1L);
+            cpuTimes.merge(
+                    pid,
+                    new CpuTime(parent, cpu),
+                    (previous, current) -> new CpuTime(current.parent(), Math.max(previous.nanos(), current.nanos())));
+            memory += residentMemory(pid);
+            if (watched.add(pid)) {
+                process.onExit().thenRun(this::sample);
+            }
+        }
+        // Exited processes reaped by a running parent are now part of the CPU time of its children
+        cpuTimes.entrySet()
+                .removeIf(entry ->
+                        !running.contains(entry.getKey()) && withChildren.contains(entry.getValue().parent()));
+        peakMemoryBytes.accumulateAndGet(memory, Math::max);
+    }
+
+    /**
+     * Get the resources used by the invocation from the samples
+     * @param elapsed The duration of the invocation
+     * @return The cost or null if the processes could not be sampled
+     */
+    @Nullable
+    BuildCost getCost(Duration elapsed) {
+        long cpu = cpuTimes.values().stream().mapToLong(CpuTime::nanos).sum();
+        long memory = peakMemoryBytes.get();
+        if (cpu == 0 || memory == 0 || elapsed.isZero()) {
+            return null;
+        }
+        return new BuildCost((double) cpu / elapsed.toNanos(), memory);
+    }
+
+    /**
+     * Get the abort of the invocation
+     * @return The abort or null if the invocation was not aborted
+     */
+    @Nullable
+    Abort getAbort() {
+        return abort.get();
+    }
+
+    /**
+     * Find the running processes of the invocation with their descendants
+     * @return The processes
+     */
+    private List<ProcessHandle> processes() {
+        return ProcessHandle.current()
+                .descendants()
+                .filter(process -> process.info()
+                        .commandLine()
+                        .map(commandLine -> commandLine.contains(tag))
+                        .orElse(false))
+                .flatMap(process -> Stream.concat(process.descendants(), Stream.of(process)))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Get the CPU time of the exited children of a process, once waited for by the process. Only available on Linux
+     * @param pid The process id
+     * @return The CPU time in nanoseconds or -1 if unknown
+     */
+    @SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Path from a process id")
+    private static long childrenCpuNanos(long pid) {
+        try {
+            String stat = Files.readString(Path.of("/proc", Long.toString(pid), "stat"));
+            // Fields after the command name, starting with the state (3rd field): cutime and cstime are 16th and 17th
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return (Long.parseLong(fields[13]) + Long.parseLong(fields[14])) * CLOCK_TICK_NANOS;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get the resident memory of a process. Only available on Linux
+     * @param pid The process id
+     * @return The resident memory in bytes or 0 if unknown
+     */
+    @SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Path from a process id")
+    private static long residentMemory(long pid) {
+        try (Stream<String> lines = Files.lines(Path.of("/proc", Long.toString(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .findFirst()
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                    .orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Abort of an invocation
+     * @param reason The short reason of the abort
+     * @param description The explanation of the abort
+     */
+    record Abort(String reason, String description) {}
+
+    /**
+     * CPU time of a process
+     * @param parent The id of the parent process or -1 if unknown
+     * @param nanos The CPU time in nanoseconds of the process and its exited children
+     */
+    private record CpuTime(long parent, long nanos) {}
+}
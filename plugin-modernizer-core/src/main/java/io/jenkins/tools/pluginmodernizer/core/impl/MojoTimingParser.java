@@ -0,0 +1,93 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time the mojo executions of a Maven build from its output as it is printed.
+ * Maven prints a header line when a mojo execution starts; an execution ends when the next one starts, when the next
+ * module starts or when the build result is printed. Not thread-safe, one parser per invocation.
+ */
+class MojoTimingParser {
+
+    /**
+     * Start of a mojo execution (e.g., "--- compiler:3.13.0:compile (default-compile) @ git-client ---")
+     */
+    private static final Pattern MOJO = Pattern.compile("^--- (\\S+) (?:\\((\\S+)\\) )?@ (\\S+) ---$");
+
+    /**
+     * End of the mojo executions of a module or of the build.
+     * The module header is "Building <name> <version>" with the reactor position in multi-module builds, unlike the
+     * output of the packaging mojos (e.g., "Building jar: /path/to/example.jar").
+     */
+    private static final Pattern BOUNDARY = Pattern.compile(
+            "^(-+< \\S+ >-+|Building (?!\\S+: ).+ \\S+( +\\[\\d+/\\d+])?|BUILD (SUCCESS|FAILURE)|Reactor Summary.*)$");
+
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[;\\d]*m");
+
+    private static final Pattern LEVEL = Pattern.compile("^\\[(INFO|WARNING|WARN|ERROR|DEBUG)] ");
+
+    private final LongSupplier nanoTime;
+
+    private final List<MojoTiming> timings = new ArrayList<>();
+
+    private Matcher current;
+
+    private long currentStart;
+
+    MojoTimingParser() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Create a parser with a custom time source
+     * @param nanoTime The time source in nanoseconds
+     */
+    MojoTimingParser(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Handle a line of the build output when it is printed
+     * @param line The line
+     */
+    void accept(String line) {
+        if (line == null) {
+            return;
+        }
+        String text = LEVEL.matcher(ANSI.matcher(line).replaceAll("")).replaceFirst("").trim();
+        Matcher mojo = MOJO.matcher(text);
+        if (mojo.matches()) {
+            long now = nanoTime.getAsLong();
+            end(now);
+            current = mojo;
+            currentStart = now;
+        } else if (current != null && BOUNDARY.matcher(text).matches()) {
+            end(nanoTime.getAsLong());
+        }
+    }
+
+    /**
+     * End the running execution, if any, and get the timings of the build
+     * @return The timings in execution order
+     */
+    List<MojoTiming> finish() {
+        end(nanoTime.getAsLong());
+        return List.copyOf(timings);
+    }
+
+    private void end(long now) {
+        if (current == null) {
+            return;
+        }
+        String execution = current.group(2) != null ? current.group(2) : "";
+        timings.add(new MojoTiming(
+                current.group(1), execution, current.group(3), Duration.ofNanos(Math.max(0, now - currentStart))));
+        current = null;
+    }
+}
@@ -0,0 +1,91 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded excerpt of the output of a Maven invocation, to explain a failure without retaining the whole output.
+ * Keeps the last lines in a ring buffer and the first error lines: the first errors are usually the cause of the
+ * failure, the last ones are consequences and Maven help. One excerpt per invocation, fed by the threads reading the
+ * standard output and the standard error of Maven.
+ */
+final class OutputExcerpt {
+
+    /**
+     * Marker of omitted lines in the excerpt
+     */
+    static final String OMITTED = "[...]";
+
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[;\\d]*m");
+
+    private final String[] tail;
+
+    private final String[] errors;
+
+    /**
+     * Line number of each error line
+     */
+    private final long[] errorLines;
+
+    private int errorCount;
+
+    /**
+     * Number of lines received
+     */
+    private long count;
+
+    /**
+     * Create an excerpt
+     * @param tailSize The number of last lines to keep
+     * @param errorSize The number of first error lines to keep
+     */
+    OutputExcerpt(int tailSize, int errorSize) {
+        this.tail = new String[tailSize];
+        this.errors = new String[errorSize];
+        this.errorLines = new long[errorSize];
+    }
+
+    /**
+     * Handle a line of the output
+     * @param line The line
+     */
+    synchronized void accept(String line) {
+        if (line == null) {
+            return;
+        }
+        if (errorCount < errors.length && ANSI.matcher(line).replaceAll("").startsWith("[ERROR]")) {
+            errors[errorCount] = line;
+            errorLines[errorCount++] = count;
+        }
+        if (tail.length > 0) {
+            tail[(int) (count % tail.length)] = line;
+        }
+        count++;
+    }
+
+    /**
+     * Get the excerpt: the first error lines before the last lines, then the last lines, in output order.
+     * Omitted lines are replaced by {@link #OMITTED}
+     * @return The lines of the excerpt
+     */
+    synchronized List<String> lines() {
+        long tailStart = Math.max(0, count - tail.length);
+        List<String> lines = new ArrayList<>();
+        long previous = -1;
+        for (int i = 0; i < errorCount && errorLines[i] < tailStart; i++) {
+            if (errorLines[i] != previous + 1) {
+                lines.add(OMITTED);
+            }
+            lines.add(errors[i]);
+            previous = errorLines[i];
+        }
+        if (tailStart != previous + 1) {
+            lines.add(OMITTED);
+        }
+        for (long i = tailStart; i < count; i++) {
+            lines.add(tail[(int) (i % tail.length)]);
+        }
+        return lines;
+    }
+}
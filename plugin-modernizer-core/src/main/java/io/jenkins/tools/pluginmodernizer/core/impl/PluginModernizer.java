@@ -5,12 +5,38 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.jfr.FlightRecording;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsServer;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildWorkspace;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
+import io.jenkins.tools.pluginmodernizer.core.model.PreconditionError;
+import io.jenkins.tools.pluginmodernizer.core.model.VerificationResult;
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildScheduler;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +60,21 @@ public class PluginModernizer {
     @Inject
     private CacheManager cacheManager;
 
+    @Inject
+    private CacheStatistics cacheStatistics;
+
+    @Inject
+    private JdkFetcher jdkFetcher;
+
+    @Inject
+    private RunReport runReport;
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    @Inject
+    private BuildScheduler buildScheduler;
+
     /**
      * Validate the configuration
      */
@@ -129,13 +170,51 @@ public class PluginModernizer {
         cacheManager.wipe();
     }
 
+    /**
+     * Evict least recently used plugin data until the cache is under the given size
+     * @param maxSize The maximum size of the cache in bytes
+     * @return The removed paths (or paths that would be removed in dry-run mode) and the remaining size
+     */
+    public CacheManager.Eviction evictCache(long maxSize) {
+        return cacheManager.evict(maxSize, Set.of(), config.isDryRun());
+    }
+
+    /**
+     * Start provisioning the given JDKs concurrently
+     * @param jdks The JDKs to provision
+     * @return The future JDK homes by JDK
+     */
+    public Map<JDK, CompletableFuture<Path>> prefetchJdks(Set<JDK> jdks) {
+        Map<JDK, CompletableFuture<Path>> homes = new EnumMap<>(JDK.class);
+        for (JDK jdk : jdks) {
+            homes.put(jdk, jdk.prefetch(jdkFetcher));
+        }
+        return homes;
+    }
+
     /**
      * Entry point to start the plugin modernization process
      */
     public void start() {
+        cacheManager.registerMetrics(metrics);
+        jdkFetcher.registerMetrics(metrics);
+        buildScheduler.registerMetrics(metrics);
+        try (FlightRecording recording = FlightRecording.start(config.getJfrFile());
+                MetricsServer metricsServer =
+                        MetricsServer.start(metrics, config.getMetricsPort(), config.getMetricsBindAddress())) {
+            doStart();
+        }
+    }
+
+    /**
+     * Entry point to start the plugin modernization process, once the run recording and metrics endpoint started
+     */
+    private void doStart() {
 
         validate();
         cacheManager.init();
+        enforceCacheBudget(config.getPlugins());
+        warmUpJdks(config.getPlugins());
 
         // Debug config
         LOG.debug("Plugins: {}", config.getPlugins());
@@ -151,28 +230,104 @@ public class PluginModernizer {
         LOG.debug("Plugin Health Score Url: {}", config.getPluginHealthScore());
         LOG.debug("Installation Stats Url: {}", config.getPluginStatsInstallations());
         LOG.debug("Cache Path: {}", config.getCachePath());
+        LOG.debug("Cache Max Size: {}", config.getCacheMaxSize());
         LOG.debug("Maven Home: {}", config.getMavenHome());
         LOG.debug("Maven Local Repository: {}", config.getMavenLocalRepo());
         LOG.debug("Dry Run: {}", config.isDryRun());
+        LOG.debug("Build capacity: {}", buildScheduler.getCapacity().summary());
         LOG.debug("Maven rewrite plugin version: {}", Settings.MAVEN_REWRITE_PLUGIN_VERSION);
 
         // Fetch plugin versions
         pluginService.getPluginVersionData();
 
         List<Plugin> plugins = config.getPlugins();
-        plugins.forEach(this::process);
+        metrics.gauge("plugins_selected", "Plugins selected for the run").set(plugins.size());
+        plugins.forEach(plugin -> {
+            String skipReason = runReport.time(plugin, "total", () -> process(plugin));
+            recordOutcome(plugin, skipReason);
+        });
+        buildScheduler.save();
+        enforceCacheBudget(List.of());
         printResults(plugins);
+        printCacheStatistics();
+        printRunReport();
+        runReport.getTracer().flush();
+        if (runReport.getTracer().isEnabled()) {
+            LOG.info("Traces written to {}", config.getTraceFile().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Count the processed plugins by outcome
+     * @param plugin The processed plugin
+     * @param skipReason The reason the plugin was skipped or null if it was processed
+     */
+    private void recordOutcome(Plugin plugin, String skipReason) {
+        metrics.counter("plugins_processed_total", "Plugins processed").inc();
+        if (skipReason != null) {
+            metrics.counter("plugins_skipped_total", "Plugins skipped by reason", "reason").inc(skipReason);
+        } else if (plugin.hasErrors()) {
+            metrics.counter("plugins_failed_total", "Plugins that failed to be modernized").inc();
+        } else {
+            metrics.counter("plugins_succeeded_total", "Plugins modernized successfully").inc();
+        }
+    }
+
+    /**
+     * Evict least recently used plugin data if the cache is above the configured budget
+     * @param keep The plugins to keep
+     */
+    private void enforceCacheBudget(List<Plugin> keep) {
+        if (config.getCacheMaxSize() == null) {
+            return;
+        }
+        CacheManager.Eviction eviction = cacheManager.evict(
+                config.getCacheMaxSize(),
+                keep.stream().map(Plugin::getName).collect(Collectors.toSet()),
+                false);
+        if (!eviction.removed().isEmpty()) {
+            LOG.info("Evicted {} plugin directories to keep the cache under budget", eviction.removed().size());
+        }
+    }
+
+    /**
+     * Provision in the background the JDKs the plugins are expected to need, so the first build needing a JDK
+     * doesn't block on its download. Failures are only logged, the build requesting the JDK will retry.
+     * @param plugins The plugins to process
+     */
+    private void warmUpJdks(List<Plugin> plugins) {
+        // Minimum JDK to run openrewrite
+        Set<JDK> jdks = EnumSet.of(JDK.JAVA_17);
+        if (!config.isFetchMetadataOnly()) {
+            for (Plugin plugin : plugins) {
+                PluginMetadata metadata = cacheManager.get(
+                        Path.of(plugin.getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+                if (metadata != null && metadata.getJdks() != null) {
+                    jdks.addAll(metadata.getJdks());
+                }
+            }
+        }
+        LOG.debug("Warming up JDKs {}", jdks);
+        prefetchJdks(jdks).forEach((jdk, home) -> home.whenComplete((path, error) -> {
+            if (error != null) {
+                LOG.warn("Unable to provision JDK {} in the background: {}", jdk.getMajor(), error.getMessage());
+            } else {
+                LOG.debug("JDK {} ready at {}", jdk.getMajor(), path);
+            }
+        }));
     }
 
     /**
      * Process a plugin
      * @param plugin The plugin to process
+     * @return The reason the plugin was skipped or null if it was processed, successfully or not
      */
-    private void process(Plugin plugin) {
+    private String process(Plugin plugin) {
         try {
 
             // Set config
             plugin.withConfig(config);
+            cacheManager.touch(Path.of(plugin.getName()));
 
             // Determine repo name
             plugin.withRepositoryName(pluginService.extractRepoName(plugin));
@@ -184,20 +339,22 @@ public class PluginModernizer {
             if (plugin.isDeprecated(pluginService)) {
                 LOG.info("Plugin {} is deprecated. Skipping.", plugin.getName());
                 plugin.addError("Plugin is deprecated");
-                return;
+                return "deprecated";
             }
             if (plugin.isArchived(ghService)) {
                 LOG.info("Plugin {} is archived. Skipping.", plugin.getName());
                 plugin.addError("Plugin is archived");
-                return;
+                return "archived";
             }
 
-            if (config.isRemoveForks()) {
-                plugin.deleteFork(ghService);
-            }
-            plugin.fork(ghService);
-            plugin.sync(ghService);
-            plugin.fetch(ghService);
+            runReport.time(plugin, "fork", () -> {
+                if (config.isRemoveForks()) {
+                    plugin.deleteFork(ghService);
+                }
+                plugin.fork(ghService);
+            });
+            runReport.time(plugin, "sync", () -> plugin.sync(ghService));
+            runReport.time(plugin, "fetch", () -> plugin.fetch(ghService));
 
             if (plugin.hasErrors()) {
                 LOG.info("Plugin {} has errors. Will not process this plugin.", plugin.getName());
@@ -210,7 +367,7 @@ public class PluginModernizer {
             // For the moment it's local cache only but later will fetch on remote storage
             if (!config.isFetchMetadataOnly()) {
                 if (plugin.getMetadata() != null && !plugin.hasPreconditionErrors()) {
-                    JDK jdk = compilePlugin(plugin);
+                    JDK jdk = runReport.time(plugin, "compile", () -> compilePlugin(plugin));
                     LOG.debug("Plugin {} compiled successfully with JDK {}", plugin.getName(), jdk.getMajor());
                 } else {
                     LOG.debug(
@@ -219,14 +376,14 @@ public class PluginModernizer {
                 }
             }
 
-            plugin.checkoutBranch(ghService);
+            runReport.time(plugin, "checkout", () -> plugin.checkoutBranch(ghService));
 
             // Minimum JDK to run openrewrite
             plugin.withJDK(JDK.JAVA_17);
 
             // Collect metadata and move metadata from the target directory of the plugin to the common cache
             if (!plugin.hasMetadata() || config.isFetchMetadataOnly()) {
-                collectMetadata(plugin);
+                runReport.time(plugin, "metadata", () -> collectMetadata(plugin));
 
             } else {
                 LOG.debug("Metadata already computed for plugin {}. Using cached metadata.", plugin.getName());
@@ -234,8 +391,12 @@ public class PluginModernizer {
 
             // Try to remediate precondition errors
             if (plugin.hasPreconditionErrors()) {
+                Set<PreconditionError> remediated = runReport.time(
+                        plugin,
+                        "remediation",
+                        () -> PreconditionError.remediate(plugin, plugin.getPreconditionErrors()));
                 plugin.getPreconditionErrors().forEach(preconditionError -> {
-                    if (preconditionError.remediate(plugin)) {
+                    if (remediated.contains(preconditionError)) {
                         plugin.removePreconditionError(preconditionError);
                         LOG.info(
                                 "Precondition error {} was remediated for plugin {}",
@@ -251,7 +412,7 @@ public class PluginModernizer {
 
                 // Retry to collect metadata after remediation to get up-to-date results
                 if (!config.isFetchMetadataOnly()) {
-                    collectMetadata(plugin);
+                    runReport.time(plugin, "metadata", () -> collectMetadata(plugin));
                 }
             }
 
@@ -261,42 +422,48 @@ public class PluginModernizer {
                 LOG.info(
                         "Skipping plugin {} due to metadata/precondition errors. Check logs for more details.",
                         plugin.getName());
-                return;
+                return "preconditions";
             }
 
             // Run OpenRewrite
-            plugin.runOpenRewrite(mavenInvoker);
+            runReport.time(plugin, "rewrite", () -> plugin.runOpenRewrite(mavenInvoker));
             if (plugin.hasErrors()) {
                 LOG.warn(
                         "Skipping plugin {} due to openrewrite recipes errors. Check logs for more details.",
                         plugin.getName());
-                return;
+                return null;
             }
 
             // Verify plugin
             if (!config.isFetchMetadataOnly()) {
-                JDK jdk = verifyPlugin(plugin);
-                LOG.info("Plugin {} verified successfully with JDK {}", plugin.getName(), jdk.getMajor());
+                VerificationResult verification =
+                        runReport.time(plugin, "verify", () -> verifyPlugin(plugin), VerificationResult::success);
+                if (verification.success()) {
+                    LOG.info(
+                            "Plugin {} verified successfully with JDK {}",
+                            plugin.getName(),
+                            verification.jdk().getMajor());
+                }
             }
 
             if (plugin.hasErrors()) {
                 LOG.warn(
                         "Skipping plugin {} due to verification errors after modernization. Check logs for more details.",
                         plugin.getName());
-                return;
+                return null;
             }
 
             // Recollect metadata after modernization
             if (!config.isFetchMetadataOnly()) {
-                collectMetadata(plugin);
+                runReport.time(plugin, "metadata", () -> collectMetadata(plugin));
                 LOG.debug(
                         "Plugin {} metadata after modernization: {}",
                         plugin.getName(),
                         plugin.getMetadata().toJson());
 
-                plugin.commit(ghService);
-                plugin.push(ghService);
-                plugin.openPullRequest(ghService);
+                runReport.time(plugin, "commit", () -> plugin.commit(ghService));
+                runReport.time(plugin, "push", () -> plugin.push(ghService));
+                runReport.time(plugin, "pull-request", () -> plugin.openPullRequest(ghService));
                 if (config.isRemoveForks()) {
                     plugin.deleteFork(ghService);
                 }
@@ -315,6 +482,7 @@ public class PluginModernizer {
                 plugin.addError("Unexpected processing error. Check the logs at " + plugin.getLogFile(), e);
             }
         }
+        return null;
     }
 
     /**
@@ -322,9 +490,9 @@ public class PluginModernizer {
      * @param plugin The plugin
      */
     private void collectMetadata(Plugin plugin) {
-        plugin.collectMetadata(mavenInvoker);
+        plugin.collectMetadata(mavenInvoker, cacheManager);
+        // Moving the metadata already loads it from the plugin target directory
         plugin.moveMetadata(cacheManager);
-        plugin.loadMetadata(cacheManager);
         plugin.enrichMetadata(pluginService);
     }
 
@@ -342,11 +510,12 @@ public class PluginModernizer {
     }
 
     /**
-     * Verify a plugin and return the first JDK that successfully verifies it, starting from the target JDK and moving backward
+     * Verify a plugin with the minimum JDK supported by its Jenkins baseline.
+     * Verification errors are cleared from the plugin, the outcome is only given by the result
      * @param plugin The plugin to verify
-     * @return The JDK that verifies the plugin
+     * @return The result of the verification with the JDK of the plugin
      */
-    private JDK verifyPlugin(Plugin plugin) {
+    private VerificationResult verifyPlugin(Plugin plugin) {
         PluginMetadata metadata = plugin.getMetadata();
 
         // Determine the JDK
@@ -367,17 +536,79 @@ public class PluginModernizer {
         }
 
         // Build it
+        long start = System.nanoTime();
         plugin.withJDK(jdk);
         plugin.clean(mavenInvoker);
         plugin.format(mavenInvoker);
-        plugin.verify(mavenInvoker);
-        if (plugin.hasErrors()) {
+        if (config.isVerifyMatrix()) {
+            Set<JDK> jdks = EnumSet.of(jdk);
+            jdks.addAll(JDK.get(metadata.getJenkinsVersion()));
+            verifyMatrix(plugin, jdks);
+            if (plugin.getVerificationResults().stream()
+                    .noneMatch(result -> result.jdk() == plugin.getJDK() && result.success())) {
+                plugin.addError("Verification failed with JDK " + jdk.getMajor());
+            }
+        } else {
+            plugin.verify(mavenInvoker);
+        }
+        boolean success = !plugin.hasErrors();
+        if (!success) {
             LOG.info("Plugin {} failed to verify with JDK {}", plugin.getName(), jdk.getMajor());
-            plugin.withoutErrors();
         }
         plugin.withoutErrors();
 
-        return jdk;
+        return new VerificationResult(jdk, success, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Verify the plugin concurrently with each JDK in its own copy of the sources so builds don't share a target
+     * directory. Copies of failed builds are kept for inspection until the next run.
+     * @param plugin The plugin to verify
+     * @param jdks The JDKs to verify the plugin with
+     */
+    private void verifyMatrix(Plugin plugin, Set<JDK> jdks) {
+        LOG.info(
+                "Verifying plugin {} with JDKs {} concurrently... Please be patient",
+                plugin.getName(),
+                jdks.stream().map(JDK::getMajor).toList());
+        List<CompletableFuture<VerificationResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (JDK jdk : jdks) {
+                results.add(CompletableFuture.supplyAsync(() -> verifyIsolated(plugin, jdk), executor));
+            }
+        }
+        results.stream().map(CompletableFuture::join).forEach(result -> {
+            plugin.addVerificationResult(result);
+            LOG.info(
+                    "Plugin {} {} with JDK {} in {} s",
+                    plugin.getName(),
+                    result.success() ? "verified" : "failed to verify",
+                    result.jdk().getMajor(),
+                    result.duration().toSeconds());
+        });
+    }
+
+    /**
+     * Verify the plugin with a JDK in an isolated workspace
+     * @param plugin The plugin to verify
+     * @param jdk The JDK to use
+     * @return The verification result
+     */
+    private VerificationResult verifyIsolated(Plugin plugin, JDK jdk) {
+        BuildWorkspace workspace;
+        try {
+            workspace = BuildWorkspace.isolate(plugin, "verify-jdk-" + jdk.getMajor());
+        } catch (IOException e) {
+            LOG.error(plugin.getMarker(), "Unable to create workspace to verify with JDK {}", jdk.getMajor(), e);
+            return new VerificationResult(jdk, false, Duration.ZERO);
+        }
+        VerificationResult result = plugin.verify(mavenInvoker, jdk, workspace);
+        if (result.success()) {
+            workspace.discard();
+        } else {
+            LOG.info("Build of plugin {} with JDK {} kept at {}", plugin.getName(), jdk.getMajor(), workspace);
+        }
+        return result;
     }
 
     /**
@@ -393,6 +624,9 @@ public class PluginModernizer {
             if (plugin.hasErrors()) {
                 for (PluginProcessingException error : plugin.getErrors()) {
                     LOG.error("Error: {}", error.getMessage());
+                    for (String line : error.getOutput()) {
+                        LOG.error("  {}", line);
+                    }
                     if (config.isDebug()) {
                         LOG.error("Stacktrace: ", error);
                     }
@@ -420,7 +654,68 @@ public class PluginModernizer {
                     }
                 }
             }
+            // Display the verification matrix
+            for (VerificationResult result : plugin.getVerificationResults()) {
+                LOG.info(
+                        "JDK {}: {} ({} s)",
+                        result.jdk().getMajor(),
+                        result.success() ? "PASS" : "FAIL",
+                        result.duration().toSeconds());
+            }
+            // Display the heaviest mojos of the builds
+            plugin.getMojoTimings().stream()
+                    .sorted(Comparator.comparing(MojoTiming::duration).reversed())
+                    .limit(3)
+                    .forEach(timing -> LOG.info(
+                            "Mojo {} ({}) @ {}: {} s",
+                            timing.mojo(),
+                            timing.execution(),
+                            timing.module(),
+                            timing.duration().toSeconds()));
             LOG.info("*************");
         }
     }
+
+    /**
+     * Print the duration of each stage and write the run report next to the plugin logs
+     */
+    private void printRunReport() {
+        Collection<RunReport.StageSummary> summaries = runReport.summarize().values();
+        if (summaries.isEmpty()) {
+            return;
+        }
+        LOG.info("Stage timings:");
+        for (RunReport.StageSummary summary : summaries) {
+            LOG.info("  {}", summary.summary());
+        }
+        List<RunReport.StageSummary> mojos = runReport.summarizeMojos();
+        if (!mojos.isEmpty()) {
+            LOG.info("Heaviest mojos:");
+            mojos.stream().limit(10).forEach(summary -> LOG.info("  {}", summary.summary()));
+        }
+        String name = "run-report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = Path.of("logs", name + ".json");
+        Path csv = Path.of("logs", name + ".csv");
+        try {
+            runReport.writeJson(json);
+            runReport.writeCsv(csv);
+            LOG.info("Run report written to {} and {}", json.toAbsolutePath(), csv.toAbsolutePath());
+        } catch (ModernizerException e) {
+            LOG.warn("Unable to write run report: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Print the cache usage of the run
+     */
+    private void printCacheStatistics() {
+        Collection<CacheStatistics.KeyStatistics> statistics = cacheStatistics.getAll().values();
+        if (statistics.isEmpty()) {
+            return;
+        }
+        LOG.info("Cache summary:");
+        for (CacheStatistics.KeyStatistics keyStatistics : statistics) {
+            LOG.info("  {}", keyStatistics.summary());
+        }
+    }
 }
@@ -0,0 +1,325 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.StageEvent;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
+import io.jenkins.tools.pluginmodernizer.core.tracing.Span;
+import io.jenkins.tools.pluginmodernizer.core.tracing.Tracer;
+import io.jenkins.tools.pluginmodernizer.core.utils.AtomicFileUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Duration of each processing stage of each plugin during a run, with percentiles by stage.
+ * Written at the end of the run as JSON and CSV so runs of different campaigns can be compared.
+ * Each timed stage is also a span of the plugin trace, child of the stage running when it started.
+ * Mojo executions of the Maven builds are aggregated by goal to find the heaviest mojos across plugins.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_OUT", justification = "Report path from the logs directory")
+public class RunReport {
+
+    private final Queue<StageTiming> timings = new ConcurrentLinkedQueue<>();
+
+    private final Queue<MojoExecution> mojoExecutions = new ConcurrentLinkedQueue<>();
+
+    private final Tracer tracer;
+
+    /**
+     * Create a run report without tracing
+     */
+    public RunReport() {
+        this(new Tracer());
+    }
+
+    /**
+     * Create a run report tracing stages
+     * @param tracer The tracer
+     */
+    public RunReport(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Time a stage of a plugin. The stage fails if it throws or adds errors to the plugin
+     * @param plugin The plugin
+     * @param stage The stage name
+     * @param action The stage
+     */
+    public void time(Plugin plugin, String stage, Runnable action) {
+        time(plugin, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Time a stage of a plugin. The stage fails if it throws or adds errors to the plugin.
+     * The stage is also emitted as a flight recorder event and traced as the current span of the plugin
+     * @param plugin The plugin
+     * @param stage The stage name
+     * @param action The stage
+     * @param <T> The type of the stage result
+     * @return The stage result
+     */
+    public <T> T time(Plugin plugin, String stage, Supplier<T> action) {
+        int errors = plugin.getErrors().size();
+        // Stages may also clear errors of previous stages
+        return time(plugin, stage, action, result -> plugin.getErrors().size() <= errors);
+    }
+
+    /**
+     * Time a stage of a plugin whose outcome is given by its result, for stages clearing the errors they add.
+     * The stage fails if it throws or if its result is not successful.
+     * The stage is also emitted as a flight recorder event and traced as the current span of the plugin
+     * @param plugin The plugin
+     * @param stage The stage name
+     * @param action The stage
+     * @param succeeded Whether a stage result is successful
+     * @param <T> The type of the stage result
+     * @return The stage result
+     */
+    public <T> T time(Plugin plugin, String stage, Supplier<T> action, Predicate<T> succeeded) {
+        StageEvent event = new StageEvent(plugin.getName(), stage);
+        event.begin();
+        Span parent = plugin.getSpan();
+        Span span = tracer.start(stage, parent).setAttribute("plugin.name", plugin.getName());
+        plugin.withSpan(span);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = succeeded.test(result);
+            return result;
+        } catch (RuntimeException e) {
+            span.setError(e.getMessage());
+            throw e;
+        } finally {
+            record(plugin.getName(), stage, Duration.ofNanos(System.nanoTime() - start), success);
+            event.setSuccess(success);
+            event.commit();
+            if (!success && !span.isError()) {
+                List<PluginProcessingException> pluginErrors = plugin.getErrors();
+                span.setError(pluginErrors.isEmpty() ? stage + " failed" : pluginErrors.getLast().getMessage());
+            }
+            span.end();
+            plugin.withSpan(parent);
+        }
+    }
+
+    /**
+     * Get the tracer of the stages
+     * @return The tracer
+     */
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Record the duration of a stage
+     * @param plugin The plugin name
+     * @param stage The stage name
+     * @param duration The duration
+     * @param success If the stage succeeded
+     */
+    public void record(String plugin, String stage, Duration duration, boolean success) {
+        timings.add(new StageTiming(plugin, stage, duration.toMillis(), success));
+    }
+
+    /**
+     * Get all recorded timings in recording order
+     * @return The timings
+     */
+    public List<StageTiming> getTimings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * Aggregate the timings by stage
+     * @return The summary of each stage in order of first occurrence
+     */
+    public Map<String, StageSummary> summarize() {
+        Map<String, List<Long>> durations = timings.stream()
+                .collect(Collectors.groupingBy(
+                        StageTiming::stage,
+                        LinkedHashMap::new,
+                        Collectors.mapping(StageTiming::durationMillis, Collectors.toList())));
+        Map<String, StageSummary> summaries = new LinkedHashMap<>();
+        durations.forEach((stage, values) -> summaries.put(stage, StageSummary.of(stage, values)));
+        return summaries;
+    }
+
+    /**
+     * Record the mojo executions of a Maven build
+     * @param plugin The plugin name
+     * @param timings The mojo timings of the build
+     */
+    public void recordMojos(String plugin, List<MojoTiming> timings) {
+        for (MojoTiming timing : timings) {
+            mojoExecutions.add(new MojoExecution(
+                    plugin,
+                    timing.mojo(),
+                    timing.execution(),
+                    timing.module(),
+                    timing.duration().toMillis()));
+        }
+    }
+
+    /**
+     * Get all recorded mojo executions in recording order
+     * @return The mojo executions
+     */
+    public List<MojoExecution> getMojoExecutions() {
+        return List.copyOf(mojoExecutions);
+    }
+
+    /**
+     * Aggregate the mojo executions by goal, regardless of the Maven plugin version
+     * @return The summary of each goal, heaviest total duration first
+     */
+    public List<StageSummary> summarizeMojos() {
+        Map<String, List<Long>> durations = mojoExecutions.stream()
+                .collect(Collectors.groupingBy(
+                        MojoExecution::goal,
+                        LinkedHashMap::new,
+                        Collectors.mapping(MojoExecution::durationMillis, Collectors.toList())));
+        return durations.entrySet().stream()
+                .map(entry -> StageSummary.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(StageSummary::totalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * Write the timings and the summary as JSON
+     * @param path The JSON file
+     */
+    public void writeJson(Path path) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("stages", summarize().values());
+        report.put("timings", getTimings());
+        report.put("mojos", summarizeMojos());
+        report.put("mojoExecutions", getMojoExecutions());
+        JsonUtils.toJsonFile(report, path);
+    }
+
+    /**
+     * Write one line per plugin and stage as CSV
+     * @param path The CSV file
+     */
+    public void writeCsv(Path path) {
+        StringBuilder csv = new StringBuilder("plugin,stage,duration_ms,success\n");
+        for (StageTiming timing : timings) {
+            csv.append(timing.plugin())
+                    .append(',')
+                    .append(timing.stage())
+                    .append(',')
+                    .append(timing.durationMillis())
+                    .append(',')
+                    .append(timing.success())
+                    .append('\n');
+        }
+        try {
+            AtomicFileUtils.write(path, csv.toString());
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write CSV file due to IO error", e);
+        }
+    }
+
+    /**
+     * Duration of a stage of a plugin
+     * @param plugin The plugin name
+     * @param stage The stage name
+     * @param durationMillis The duration in milliseconds
+     * @param success If the stage succeeded
+     */
+    public record StageTiming(String plugin, String stage, long durationMillis, boolean success) {}
+
+    /**
+     * Duration of a mojo execution of a plugin build
+     * @param plugin The plugin name
+     * @param mojo The mojo as printed by Maven
+     * @param execution The execution ID
+     * @param module The artifact ID of the module built
+     * @param durationMillis The duration in milliseconds
+     */
+    public record MojoExecution(String plugin, String mojo, String execution, String module, long durationMillis) {
+
+        /**
+         * Get the mojo without its version
+         * @return The goal
+         */
+        public String goal() {
+            return new MojoTiming(mojo, execution, module, Duration.ZERO).goal();
+        }
+    }
+
+    /**
+     * Aggregated durations of a stage across plugins
+     * @param stage The stage name
+     * @param count The number of times the stage ran
+     * @param totalMillis The total duration in milliseconds
+     * @param p50Millis The median duration in milliseconds
+     * @param p95Millis The 95th percentile duration in milliseconds
+     * @param maxMillis The maximum duration in milliseconds
+     */
+    public record StageSummary(
+            String stage, int count, long totalMillis, long p50Millis, long p95Millis, long maxMillis) {
+
+        /**
+         * Aggregate durations using nearest-rank percentiles
+         * @param stage The stage name
+         * @param durations The durations in milliseconds
+         * @return The summary
+         */
+        static StageSummary of(String stage, Collection<Long> durations) {
+            List<Long> sorted = new ArrayList<>(durations);
+            sorted.sort(null);
+            long total = sorted.stream().mapToLong(Long::longValue).sum();
+            return new StageSummary(
+                    stage,
+                    sorted.size(),
+                    total,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+        }
+
+        private static long percentile(List<Long> sorted, double quantile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.size());
+            return sorted.get(Math.max(rank, 1) - 1);
+        }
+
+        /**
+         * One line summary for the end-of-run report
+         * @return The summary
+         */
+        public String summary() {
+            return String.format(
+                    "%s: %d runs, total %d s, p50 %d s, p95 %d s, max %d s",
+                    stage,
+                    count,
+                    Duration.ofMillis(totalMillis).toSeconds(),
+                    Duration.ofMillis(p50Millis).toSeconds(),
+                    Duration.ofMillis(p95Millis).toSeconds(),
+                    Duration.ofMillis(maxMillis).toSeconds());
+        }
+    }
+}
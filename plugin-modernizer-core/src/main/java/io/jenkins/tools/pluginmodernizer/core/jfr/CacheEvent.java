@@ -0,0 +1,75 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a read or a write of a cache entry
+ */
+@Name("io.jenkins.tools.pluginmodernizer.Cache")
+@Label("Cache Access")
+@Category({"Jenkins", "Plugin Modernizer"})
+@Description("Read or write of a cache entry")
+@StackTrace(false)
+public class CacheEvent extends Event {
+
+    /**
+     * Operation reading an entry
+     */
+    public static final String READ = "read";
+
+    /**
+     * Operation writing an entry
+     */
+    public static final String WRITE = "write";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Hit")
+    @Description("If a valid entry was found, always true for writes")
+    private boolean hit;
+
+    @Label("Size")
+    @DataAmount
+    private long size;
+
+    /**
+     * Create an event for an operation on a cache entry
+     * @param operation The operation, {@link #READ} or {@link #WRITE}
+     * @param path The path of the entry in the cache
+     * @param key The key of the entry
+     */
+    public CacheEvent(String operation, String path, String key) {
+        this.operation = operation;
+        this.path = path;
+        this.key = key;
+    }
+
+    /**
+     * Set if a valid entry was found
+     * @param hit True if found
+     */
+    public void setHit(boolean hit) {
+        this.hit = hit;
+    }
+
+    /**
+     * Set the size of the entry
+     * @param size The size in bytes
+     */
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,91 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorder recording of a run, written to a file when closed.
+ * Uses the JDK "profile" settings so the modernizer events can be related to GC, I/O and lock contention.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Recording path from the command line")
+public final class FlightRecording implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlightRecording.class);
+
+    /**
+     * The recording or null if not recording
+     */
+    private final Recording recording;
+
+    /**
+     * The file to write the recording to
+     */
+    private final Path destination;
+
+    private FlightRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Start recording the run
+     * @param destination The file to write the recording to, or null to not record
+     * @return The recording to close at the end of the run
+     */
+    public static FlightRecording start(@Nullable Path destination) {
+        if (destination == null) {
+            return new FlightRecording(null, null);
+        }
+        try {
+            Path parent = destination.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("plugin-modernizer");
+            recording.setToDisk(true);
+            recording.setDumpOnExit(true);
+            recording.setDestination(destination);
+            recording.start();
+            LOG.info("Flight recording started to {}", destination.toAbsolutePath());
+            return new FlightRecording(recording, destination);
+        } catch (IOException | ParseException e) {
+            throw new ModernizerException("Unable to start flight recording", e);
+        }
+    }
+
+    /**
+     * Check if the run is recorded
+     * @return True if recording
+     */
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Stop the recording and write it to its destination
+     */
+    @Override
+    public void close() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            LOG.info("Flight recording written to {}", destination.toAbsolutePath());
+        } catch (IllegalStateException e) {
+            LOG.warn("Unable to write flight recording: {}", e.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+}
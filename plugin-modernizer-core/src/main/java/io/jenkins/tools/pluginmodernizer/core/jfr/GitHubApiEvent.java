@@ -0,0 +1,63 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a GitHub API call
+ */
+@Name("io.jenkins.tools.pluginmodernizer.GitHubApi")
+@Label("GitHub API Call")
+@Category({"Jenkins", "Plugin Modernizer"})
+@Description("HTTP request to the GitHub API")
+@StackTrace(false)
+public class GitHubApiEvent extends Event {
+
+    /**
+     * Value of fields not known, because no response was received or the header is missing
+     */
+    public static final int UNKNOWN = -1;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Endpoint")
+    @Description("Path of the request, without query parameters")
+    private String endpoint;
+
+    @Label("Status")
+    private int status = UNKNOWN;
+
+    @Label("Rate Limit Remaining")
+    private int rateLimitRemaining = UNKNOWN;
+
+    /**
+     * Create an event for an API call
+     * @param method The HTTP method
+     * @param endpoint The path of the request
+     */
+    public GitHubApiEvent(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Set the HTTP status of the response
+     * @param status The HTTP status
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Set the remaining requests of the rate limit
+     * @param rateLimitRemaining The remaining requests
+     */
+    public void setRateLimitRemaining(int rateLimitRemaining) {
+        this.rateLimitRemaining = rateLimitRemaining;
+    }
+}
@@ -0,0 +1,57 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a Maven invocation on a plugin
+ */
+@Name("io.jenkins.tools.pluginmodernizer.MavenInvocation")
+@Label("Maven Invocation")
+@Category({"Jenkins", "Plugin Modernizer"})
+@Description("Maven build of a plugin")
+@StackTrace(false)
+public class MavenInvocationEvent extends Event {
+
+    /**
+     * Exit code of invocations that could not start or were interrupted
+     */
+    public static final int NO_EXIT_CODE = -1;
+
+    @Label("Plugin")
+    private String plugin;
+
+    @Label("Goals")
+    private String goals;
+
+    @Label("JDK")
+    @Description("Major version of the JDK, 0 for the JDK running Maven by default")
+    private int jdk;
+
+    @Label("Exit Code")
+    private int exitCode = NO_EXIT_CODE;
+
+    /**
+     * Create an event for a Maven invocation
+     * @param plugin The plugin name
+     * @param goals The goals
+     * @param jdk The major version of the JDK or 0 for the default JDK
+     */
+    public MavenInvocationEvent(String plugin, String goals, int jdk) {
+        this.plugin = plugin;
+        this.goals = goals;
+        this.jdk = jdk;
+    }
+
+    /**
+     * Set the exit code of the Maven process
+     * @param exitCode The exit code
+     */
+    public void setExitCode(int exitCode) {
+        this.exitCode = exitCode;
+    }
+}
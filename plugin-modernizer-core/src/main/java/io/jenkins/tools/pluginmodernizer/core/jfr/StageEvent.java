@@ -0,0 +1,46 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a processing stage of a plugin, from its start to its end
+ */
+@Name("io.jenkins.tools.pluginmodernizer.Stage")
+@Label("Modernizer Stage")
+@Category({"Jenkins", "Plugin Modernizer"})
+@Description("Processing stage of a plugin")
+@StackTrace(false)
+public class StageEvent extends Event {
+
+    @Label("Plugin")
+    private String plugin;
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * Create an event for a stage of a plugin
+     * @param plugin The plugin name
+     * @param stage The stage name
+     */
+    public StageEvent(String plugin, String stage) {
+        this.plugin = plugin;
+        this.stage = stage;
+    }
+
+    /**
+     * Set if the stage succeeded
+     * @param success True if the stage succeeded
+     */
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,293 @@
+package io.jenkins.tools.pluginmodernizer.core.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Live counters and gauges of a run, rendered in the Prometheus text exposition format.
+ * Metrics are created on first use and shared by name, so each component declares the metrics it feeds.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Prefix of all metric names
+     */
+    public static final String PREFIX = "plugin_modernizer_";
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Get or create a counter
+     * @param name The name without prefix (e.g., "plugins_processed_total")
+     * @param help The description of the counter
+     * @param labelNames The names of the labels
+     * @return The counter
+     */
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(name, Counter.class, () -> new Counter(PREFIX + name, help, labelNames));
+    }
+
+    /**
+     * Get or create a gauge
+     * @param name The name without prefix (e.g., "maven_invocations_in_progress")
+     * @param help The description of the gauge
+     * @param labelNames The names of the labels
+     * @return The gauge
+     */
+    public Gauge gauge(String name, String help, String... labelNames) {
+        return register(name, Gauge.class, () -> new Gauge(PREFIX + name, help, labelNames, null));
+    }
+
+    /**
+     * Register a gauge computed when the metrics are scraped. Replaces a previous gauge with the same name
+     * @param name The name without prefix (e.g., "cache_hit_ratio")
+     * @param help The description of the gauge
+     * @param value The value of the gauge
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        metrics.put(name, new Gauge(PREFIX + name, help, new String[0], value));
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format, sorted by name
+     * @return The metrics
+     */
+    public String scrape() {
+        StringBuilder text = new StringBuilder();
+        for (Metric metric : new TreeMap<>(metrics).values()) {
+            metric.write(text);
+        }
+        return text.toString();
+    }
+
+    private <T extends Metric> T register(String name, Class<T> type, Supplier<T> factory) {
+        Metric metric = metrics.computeIfAbsent(name, key -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + metric.type);
+        }
+        return type.cast(metric);
+    }
+
+    /**
+     * Metric with a value by label values
+     */
+    public abstract static class Metric {
+
+        private final String name;
+        private final String help;
+        private final String type;
+        private final List<String> labelNames;
+
+        private Metric(String name, String help, String type, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelNames = List.of(labelNames);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Check the label values match the label names of the metric
+         * @param labelValues The label values
+         * @return The label values as key
+         */
+        List<String> key(String... labelValues) {
+            if (labelValues.length != labelNames.size()) {
+                throw new IllegalArgumentException(
+                        "Metric " + name + " expects labels " + labelNames + " but got " + List.of(labelValues));
+            }
+            return List.of(labelValues);
+        }
+
+        /**
+         * Get the current values by label values
+         * @return The values
+         */
+        abstract SortedMap<List<String>, Double> values();
+
+        private void write(StringBuilder text) {
+            text.append("# HELP ").append(name).append(' ').append(escape(help, false)).append('\n');
+            text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            values().forEach((labelValues, value) -> {
+                text.append(name);
+                if (!labelValues.isEmpty()) {
+                    text.append('{');
+                    for (int i = 0; i < labelValues.size(); i++) {
+                        if (i > 0) {
+                            text.append(',');
+                        }
+                        text.append(labelNames.get(i))
+                                .append("=\"")
+                                .append(escape(labelValues.get(i), true))
+                                .append('"');
+                    }
+                    text.append('}');
+                }
+                text.append(' ').append(format(value)).append('\n');
+            });
+        }
+
+        private static String escape(String value, boolean quotes) {
+            String escaped = value.replace("\\", "\\\\").replace("\n", "\\n");
+            return quotes ? escaped.replace("\"", "\\\"") : escaped;
+        }
+
+        private static String format(double value) {
+            if (Double.isNaN(value)) {
+                return "NaN";
+            } else if (Double.isInfinite(value)) {
+                return value > 0 ? "+Inf" : "-Inf";
+            } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                return Long.toString((long) value);
+            }
+            return Double.toString(value);
+        }
+
+        /**
+         * Create an empty map of values sorted by label values
+         * @return The map
+         */
+        static SortedMap<List<String>, Double> sorted() {
+            return new TreeMap<>(
+                    Comparator.comparing((List<String> labelValues) -> String.join("\u0000", labelValues)));
+        }
+    }
+
+    /**
+     * Monotonic counter
+     */
+    public static final class Counter extends Metric {
+
+        private final Map<List<String>, DoubleAdder> values = new ConcurrentHashMap<>();
+
+        private Counter(String name, String help, String[] labelNames) {
+            super(name, help, "counter", labelNames);
+        }
+
+        /**
+         * Increment the counter by one
+         * @param labelValues The label values
+         */
+        public void inc(String... labelValues) {
+            add(1, labelValues);
+        }
+
+        /**
+         * Increment the counter
+         * @param amount The positive amount
+         * @param labelValues The label values
+         */
+        public void add(double amount, String... labelValues) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Counter " + getName() + " cannot decrease");
+            }
+            values.computeIfAbsent(key(labelValues), key -> new DoubleAdder()).add(amount);
+        }
+
+        /**
+         * Get the value of the counter
+         * @param labelValues The label values
+         * @return The value, 0 if never incremented
+         */
+        public double get(String... labelValues) {
+            DoubleAdder value = values.get(key(labelValues));
+            return value == null ? 0 : value.sum();
+        }
+
+        @Override
+        SortedMap<List<String>, Double> values() {
+            SortedMap<List<String>, Double> sorted = sorted();
+            values.forEach((labelValues, value) -> sorted.put(labelValues, value.sum()));
+            return sorted;
+        }
+    }
+
+    /**
+     * Value that can go up and down
+     */
+    public static final class Gauge extends Metric {
+
+        private final Map<List<String>, AtomicLong> values = new ConcurrentHashMap<>();
+
+        /**
+         * Value computed at scrape time or null
+         */
+        private final DoubleSupplier supplier;
+
+        private Gauge(String name, String help, String[] labelNames, DoubleSupplier supplier) {
+            super(name, help, "gauge", labelNames);
+            this.supplier = supplier;
+        }
+
+        /**
+         * Set the gauge
+         * @param value The value
+         * @param labelValues The label values
+         */
+        public void set(double value, String... labelValues) {
+            bits(labelValues).set(Double.doubleToRawLongBits(value));
+        }
+
+        /**
+         * Increment the gauge by one
+         * @param labelValues The label values
+         */
+        public void inc(String... labelValues) {
+            add(1, labelValues);
+        }
+
+        /**
+         * Decrement the gauge by one
+         * @param labelValues The label values
+         */
+        public void dec(String... labelValues) {
+            add(-1, labelValues);
+        }
+
+        /**
+         * Get the value of the gauge
+         * @param labelValues The label values
+         * @return The value, 0 if never set
+         */
+        public double get(String... labelValues) {
+            if (supplier != null) {
+                return supplier.getAsDouble();
+            }
+            AtomicLong value = values.get(key(labelValues));
+            return value == null ? 0 : Double.longBitsToDouble(value.get());
+        }
+
+        private void add(double amount, String... labelValues) {
+            bits(labelValues).updateAndGet(bits -> Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + amount));
+        }
+
+        private AtomicLong bits(String... labelValues) {
+            if (supplier != null) {
+                throw new IllegalStateException("Gauge " + getName() + " is computed at scrape time");
+            }
+            return values.computeIfAbsent(key(labelValues), key -> new AtomicLong(Double.doubleToRawLongBits(0)));
+        }
+
+        @Override
+        SortedMap<List<String>, Double> values() {
+            SortedMap<List<String>, Double> sorted = sorted();
+            if (supplier != null) {
+                sorted.put(List.of(), supplier.getAsDouble());
+            } else {
+                values.forEach((labelValues, value) -> sorted.put(labelValues, Double.longBitsToDouble(value.get())));
+            }
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.jenkins.tools.pluginmodernizer.core.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded HTTP endpoint serving the metrics registry in the Prometheus text format on {@code /metrics}
+ */
+public final class MetricsServer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsServer.class);
+
+    /**
+     * Path of the metrics endpoint
+     */
+    public static final String PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The server or null if not serving
+     */
+    private final HttpServer server;
+
+    private MetricsServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Start serving the metrics
+     * @param registry The metrics registry
+     * @param port The port to listen on, 0 for any free port, or null to not serve the metrics
+     * @param bindAddress The host name or IP address to listen on, or null to only listen on the loopback address
+     * @return The server to close at the end of the run
+     */
+    public static MetricsServer start(
+            MetricsRegistry registry, @Nullable Integer port, @Nullable String bindAddress) {
+        if (port == null) {
+            return new MetricsServer(null);
+        }
+        InetAddress address;
+        try {
+            address = bindAddress != null ? InetAddress.getByName(bindAddress) : InetAddress.getLoopbackAddress();
+        } catch (UnknownHostException e) {
+            throw new ModernizerException("Unknown metrics bind address " + bindAddress, e);
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(address, port), 0);
+            server.createContext(PATH, exchange -> handle(registry, exchange));
+            server.start();
+            LOG.info(
+                    "Serving metrics on http://{}:{}{}",
+                    address.getHostAddress(),
+                    server.getAddress().getPort(),
+                    PATH);
+            return new MetricsServer(server);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to serve metrics on " + address.getHostAddress() + ":" + port, e);
+        }
+    }
+
+    private static void handle(MetricsRegistry registry, HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Get the port the metrics are served on
+     * @return The port or -1 if not serving
+     */
+    public int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    /**
+     * Get the address the metrics are served on
+     * @return The address or null if not serving
+     */
+    InetAddress getAddress() {
+        return server == null ? null : server.getAddress().getAddress();
+    }
+
+    /**
+     * Stop serving the metrics
+     */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
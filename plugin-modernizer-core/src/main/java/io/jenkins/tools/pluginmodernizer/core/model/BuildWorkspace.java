@@ -0,0 +1,110 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Directory in which Maven builds a plugin and writes its target directory.
+ * The main workspace is the git checkout of the plugin. Maven reads the build directory from the POM model, so it
+ * cannot be moved with a command line property; isolated workspaces are instead private copies of the checkout,
+ * giving concurrent builds of the same plugin their own target directory.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Paths inside the plugin cache directory")
+public final class BuildWorkspace {
+
+    /**
+     * Directory of isolated workspaces inside the plugin directory
+     */
+    public static final String WORKSPACES_DIRECTORY = "workspaces";
+
+    /**
+     * The directory containing the pom.xml
+     */
+    private final Path directory;
+
+    /**
+     * If the workspace is a copy of the checkout
+     */
+    private final boolean isolated;
+
+    private BuildWorkspace(Path directory, boolean isolated) {
+        this.directory = directory;
+        this.isolated = isolated;
+    }
+
+    /**
+     * Get the main workspace of a plugin, its git checkout
+     * @param plugin The plugin
+     * @return The main workspace
+     */
+    public static BuildWorkspace main(Plugin plugin) {
+        return new BuildWorkspace(plugin.getLocalRepository(), false);
+    }
+
+    /**
+     * Create an isolated workspace from the current sources of the plugin checkout, without its target directory.
+     * A previous workspace with the same name is replaced
+     * @param plugin The plugin
+     * @param name The name of the workspace
+     * @return The isolated workspace
+     * @throws IOException If the sources cannot be copied
+     */
+    public static BuildWorkspace isolate(Plugin plugin, String name) throws IOException {
+        Path sources = plugin.getLocalRepository();
+        File target = sources.resolve("target").toFile();
+        Path directory = Settings.getPluginsDirectory(plugin).resolve(WORKSPACES_DIRECTORY).resolve(name);
+        FileUtils.deleteDirectory(directory.toFile());
+        FileUtils.copyDirectory(sources.toFile(), directory.toFile(), file -> !file.equals(target));
+        return new BuildWorkspace(directory, true);
+    }
+
+    /**
+     * Get the directory containing the pom.xml
+     * @return The directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the pom.xml of the workspace
+     * @return The pom.xml path
+     */
+    public Path getPom() {
+        return directory.resolve("pom.xml");
+    }
+
+    /**
+     * Get the build directory of the workspace
+     * @return The target directory
+     */
+    public Path getTargetDirectory() {
+        return directory.resolve("target");
+    }
+
+    /**
+     * Check if the workspace is a copy of the checkout
+     * @return True if isolated
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+
+    /**
+     * Delete an isolated workspace. Does nothing for the main workspace
+     */
+    public void discard() {
+        if (isolated) {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return directory.toString();
+    }
+}
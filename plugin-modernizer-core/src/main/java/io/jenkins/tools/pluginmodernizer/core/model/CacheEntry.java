@@ -1,9 +1,11 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.utils.AtomicFileUtils;
 import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -112,17 +114,21 @@ public abstract class CacheEntry<T extends CacheEntry<T>> implements Serializabl
                 "Moving object from {} to {}",
                 cacheManager.getLocation().resolve(path).resolve(key),
                 newCacheManager.getLocation().resolve(newPath).resolve(newKey));
-        // Copy transient fields
-        T refreshedObject = refresh();
-        refreshedObject.setPath(newPath);
-        refreshedObject.setKey(newKey);
-        refreshedObject.setCacheManager(newCacheManager);
-        newCacheManager.put(refreshedObject);
-        LOG.debug(refreshedObject.getCacheManager().getLocation().toString());
-        if (!copy) {
-            this.delete();
+        // Hold the source and target locks so no other process updates or removes the entries while moving.
+        // Both are acquired at once, in a fixed order, so concurrent moves in opposite directions cannot deadlock
+        try (AtomicFileUtils.Lock ignored = AtomicFileUtils.lock(List.of(
+                cacheManager.getLockFile(Path.of(path), key), newCacheManager.getLockFile(newPath, newKey)))) {
+            // Single read of the source entry. The file itself is relocated as-is
+            T refreshedObject = refresh();
+            if (refreshedObject == null) {
+                throw new ModernizerException("Cache entry not found at " + getLocation());
+            }
+            newCacheManager.transfer(refreshedObject.getLocation(), newPath, newKey, copy);
+            refreshedObject.setPath(newPath);
+            refreshedObject.setKey(newKey);
+            refreshedObject.setCacheManager(newCacheManager);
+            return refreshedObject;
         }
-        return newCacheManager.get(newPath, newKey, clazz);
     }
 
     /**
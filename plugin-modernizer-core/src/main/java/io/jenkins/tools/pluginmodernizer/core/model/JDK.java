@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 
 /**
@@ -104,6 +105,17 @@ public enum JDK {
         return Files.isDirectory(getDefaultSdkMan()) ? getDefaultSdkMan() : jdkFetcher.getJdkPath(major);
     }
 
+    /**
+     * Start provisioning the JDK home in the background unless it's already available from SDKMAN
+     * @param jdkFetcher The JDK fetcher use to download the JDK
+     * @return The future JDK home
+     */
+    public CompletableFuture<Path> prefetch(JdkFetcher jdkFetcher) {
+        return Files.isDirectory(getDefaultSdkMan())
+                ? CompletableFuture.completedFuture(getDefaultSdkMan())
+                : jdkFetcher.prefetch(major);
+    }
+
     /**
      * Return the next JDK available
      * @return The next JDK
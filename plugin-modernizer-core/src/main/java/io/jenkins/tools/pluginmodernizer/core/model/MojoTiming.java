@@ -0,0 +1,22 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.time.Duration;
+
+/**
+ * Duration of a mojo execution during a Maven build
+ * @param mojo The mojo as printed by Maven (e.g., "compiler:3.13.0:compile")
+ * @param execution The execution ID (e.g., "default-compile")
+ * @param module The artifact ID of the module built
+ * @param duration The duration of the execution
+ */
+public record MojoTiming(String mojo, String execution, String module, Duration duration) {
+
+    /**
+     * Get the mojo without its version, to aggregate executions of different plugin versions
+     * @return The plugin prefix or artifact ID and the goal (e.g., "compiler:compile")
+     */
+    public String goal() {
+        String[] parts = mojo.split(":");
+        return parts.length > 2 ? parts[parts.length - 3] + ":" + parts[parts.length - 1] : mojo;
+    }
+}
@@ -7,9 +7,12 @@ import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.MavenInvoker;
+import io.jenkins.tools.pluginmodernizer.core.tracing.Span;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import io.jenkins.tools.pluginmodernizer.core.utils.PomEditor;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -18,16 +21,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
 import org.kohsuke.github.GHRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
-import org.w3c.dom.Document;
 
 /**
  * Mutable class representing a Jenkins plugin to modernize and refactor
@@ -56,6 +54,11 @@ public class Plugin {
      */
     private JDK jdk;
 
+    /**
+     * The span of the current processing stage, parent of the spans started for the plugin. Null if not processed
+     */
+    private volatile Span span;
+
     /**
      * The metadata of the plugin
      */
@@ -86,6 +89,21 @@ public class Plugin {
      */
     private final Set<String> tags = new HashSet<>();
 
+    /**
+     * Results of the verification matrix by JDK
+     */
+    private final List<VerificationResult> verificationResults = new LinkedList<>();
+
+    /**
+     * Durations of the mojo executions of the Maven builds. Builds of the verification matrix may run concurrently
+     */
+    private final List<MojoTiming> mojoTimings = Collections.synchronizedList(new LinkedList<>());
+
+    /**
+     * POM read by the precondition checks, kept for their remediation while errors are pending
+     */
+    private PomEditor pomEditor;
+
     private Plugin() {}
 
     /**
@@ -137,6 +155,16 @@ public class Plugin {
         return this;
     }
 
+    /**
+     * Set the span of the current processing stage
+     * @param span The span or null when the processing ended
+     * @return Plugin object
+     */
+    public Plugin withSpan(Span span) {
+        this.span = span;
+        return this;
+    }
+
     /**
      * Indicate that the plugin has commits to be pushed
      * @return Plugin object
@@ -225,6 +253,44 @@ public class Plugin {
                 && metadata.getProperties().get("spotless.check.skip").equals("false");
     }
 
+    /**
+     * Add the result of the verification with a JDK
+     * @param result The verification result
+     * @return Plugin object
+     */
+    public Plugin addVerificationResult(VerificationResult result) {
+        verificationResults.add(result);
+        return this;
+    }
+
+    /**
+     * Get the results of the verification matrix
+     * @return The verification results or an empty list if the matrix was not run
+     */
+    public List<VerificationResult> getVerificationResults() {
+        return Collections.unmodifiableList(verificationResults);
+    }
+
+    /**
+     * Add the durations of the mojo executions of a Maven build
+     * @param timings The mojo timings
+     * @return Plugin object
+     */
+    public Plugin addMojoTimings(List<MojoTiming> timings) {
+        mojoTimings.addAll(timings);
+        return this;
+    }
+
+    /**
+     * Get the durations of the mojo executions of all Maven builds of the plugin
+     * @return The mojo timings in execution order
+     */
+    public List<MojoTiming> getMojoTimings() {
+        synchronized (mojoTimings) {
+            return List.copyOf(mojoTimings);
+        }
+    }
+
     /**
      * Return if the plugin has any errors
      * @return True if the plugin has errors
@@ -306,6 +372,39 @@ public class Plugin {
         errors.add(new PluginProcessingException(message, this));
     }
 
+    /**
+     * Add an error of a Maven build to the plugin
+     * @param message The message
+     * @param output Excerpt of the Maven output explaining the failure
+     */
+    public void addError(String message, List<String> output) {
+        LOG.error(message);
+        LOG.error(getMarker(), "{}{}{}", message, System.lineSeparator(), String.join(System.lineSeparator(), output));
+        errors.add(new PluginProcessingException(message, null, output, this));
+    }
+
+    /**
+     * Add an error of a Maven invocation that failed with an exception to the plugin
+     * @param message The message
+     * @param e The exception
+     * @param output Excerpt of the Maven output before the failure
+     */
+    public void addError(String message, Exception e, List<String> output) {
+        if (config.isDebug()) {
+            LOG.error(message, e);
+        } else {
+            LOG.error(message);
+        }
+        LOG.error(
+                getMarker(),
+                "{}{}{}",
+                message,
+                System.lineSeparator(),
+                String.join(System.lineSeparator(), output),
+                e);
+        errors.add(new PluginProcessingException(message, e, output, this));
+    }
+
     /**
      * Raise the last error as exception of the plugin
      * Do nothing if no errors
@@ -404,6 +503,23 @@ public class Plugin {
         return jdk;
     }
 
+    /**
+     * Get the workspace where Maven builds the plugin for the modernization. Verifications build in their own
+     * isolated workspace
+     * @return The main workspace, the checkout
+     */
+    public BuildWorkspace getWorkspace() {
+        return BuildWorkspace.main(this);
+    }
+
+    /**
+     * Get the span of the current processing stage
+     * @return The span or null if the plugin is not being processed
+     */
+    public Span getSpan() {
+        return span;
+    }
+
     /**
      * Get the path of the log file for the plugin
      * @return Path of the log file
@@ -412,6 +528,16 @@ public class Plugin {
         return Path.of("logs", getName() + ".log");
     }
 
+    /**
+     * Get the path of the file receiving the output of the Maven builds of the plugin
+     * @param variant The variant of builds running concurrently with the others (e.g., "jdk-17") or null
+     * @return Path of the build log file, ending with ".gz" if build logs are compressed
+     */
+    public Path getBuildLogFile(String variant) {
+        String name = getName() + "-build" + (variant != null ? "-" + variant : "") + ".log";
+        return Path.of("logs", config != null && config.isCompressBuildLogs() ? name + ".gz" : name);
+    }
+
     /**
      * Get the login marker for the plugin
      * @return Marker object
@@ -472,6 +598,20 @@ public class Plugin {
         LOG.info("Done");
     }
 
+    /**
+     * Execute maven verify with the given JDK in the given workspace. Errors are not added to the plugin
+     * @param maven The maven invoker instance
+     * @param jdk The JDK to use
+     * @param workspace The workspace to build
+     * @return The verification result
+     */
+    public VerificationResult verify(MavenInvoker maven, JDK jdk, BuildWorkspace workspace) {
+        LOG.info("Verifying plugin {} with JDK {} in {}...", name, jdk.getMajor(), workspace);
+        long start = System.nanoTime();
+        boolean success = maven.verify(this, jdk, workspace);
+        return new VerificationResult(jdk, success, Duration.ofNanos(System.nanoTime() - start));
+    }
+
     /**
      * Format the plugin using spotless
      * @param maven The maven invoker instance
@@ -502,40 +642,45 @@ public class Plugin {
         if (metadata == null) {
             throw new IllegalStateException("Metadata not found for plugin " + name);
         }
-        Arrays.stream(MetadataFlag.values())
+        List<MetadataFlag> newFlags = Arrays.stream(MetadataFlag.values())
+                .filter(flag -> !metadata.hasFlag(flag))
                 .filter(flag -> flag.isApplicable(this, pluginService))
-                .forEach(metadata::addFlag);
+                .toList();
+        if (newFlags.isEmpty()) {
+            LOG.debug("No new flags for plugin {}. Keeping stored metadata", name);
+            return;
+        }
+        newFlags.forEach(metadata::addFlag);
         this.metadata.save();
     }
 
     /**
      * Collect plugin metadata
      * @param maven The maven invoker instance
+     * @param cacheManager The cache manager, whose statistics record the metadata written to the target directory
      */
-    public void collectMetadata(MavenInvoker maven) {
-
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xpath = xPathFactory.newXPath();
+    public void collectMetadata(MavenInvoker maven, CacheManager cacheManager) {
 
         // Static parse of the pom file and check for pattern preventing minimal build
-        Path pom = getLocalRepository().resolve("pom.xml");
-        if (!getLocalRepository().resolve("target").toFile().mkdir()) {
+        BuildWorkspace workspace = getWorkspace();
+        Path pom = workspace.getPom();
+        if (!workspace.getTargetDirectory().toFile().mkdir()) {
             LOG.debug("Failed to create target directory for plugin {}", name);
         }
-        Document document = staticPomParse(pom);
+        PomEditor pomEditor = readPom(pom);
 
         // Collect precondition errors
         PluginMetadata pluginMetadata = new PluginMetadata();
-        pluginMetadata.setCacheManager(buildPluginTargetDirectoryCacheManager());
-        pluginMetadata.setErrors(Arrays.stream(PreconditionError.values())
-                .filter(error -> error.isApplicable(document, xpath))
-                .collect(Collectors.toSet()));
+        pluginMetadata.setCacheManager(buildPluginTargetDirectoryCacheManager(cacheManager));
+        pluginMetadata.setErrors(PreconditionError.check(pomEditor));
 
         if (!pluginMetadata.getErrors().isEmpty()) {
             LOG.debug("Precondition errors found for plugin {}", name);
+            this.pomEditor = pomEditor;
             pluginMetadata.save();
             return;
         }
+        this.pomEditor = null;
 
         // Collect using OpenRewrite
         maven.collectMetadata(this);
@@ -727,11 +872,11 @@ public class Plugin {
     }
 
     /**
-     * Move metadata from plugin target directory to cache
+     * Move metadata from the target directory of the plugin workspace to cache
      * @param cacheManager The cache manager
      */
     public void moveMetadata(CacheManager cacheManager) {
-        CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager();
+        CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager(cacheManager);
         setMetadata(pluginCacheManager.move(
                 cacheManager,
                 Path.of(getName()),
@@ -745,9 +890,10 @@ public class Plugin {
 
     /**
      * Read the target metadata of the plugin. Generally to use after running recipes to get the updated metadata
+     * @param cacheManager The cache manager
      */
-    public PluginMetadata readTargetMetadata() {
-        CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager();
+    public PluginMetadata readTargetMetadata(CacheManager cacheManager) {
+        CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager(cacheManager);
         PluginMetadata metadata = pluginCacheManager.get(
                 pluginCacheManager.root(), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
         if (metadata == null) {
@@ -758,31 +904,39 @@ public class Plugin {
     }
 
     /**
-     * Build cache manager for this plugin
+     * Build cache manager for the target directory of the plugin workspace
+     * @param cacheManager The cache manager sharing its statistics
      * @return Cache manager
      */
-    private CacheManager buildPluginTargetDirectoryCacheManager() {
-        return new CacheManager(
-                Settings.getPluginsDirectory(this).resolve(getLocalRepository().resolve("target")));
+    private CacheManager buildPluginTargetDirectoryCacheManager(CacheManager cacheManager) {
+        return cacheManager.withLocation(getWorkspace().getTargetDirectory());
+    }
+
+    /**
+     * Take the POM read by the precondition checks, so remediations don't read and parse it again
+     * @return The POM or null if not read or already taken
+     */
+    public PomEditor takePomEditor() {
+        PomEditor pom = this.pomEditor;
+        this.pomEditor = null;
+        return pom;
     }
 
     /**
-     * Static parse of the pom file to a XML document
+     * Static read and parse of the pom file
      * @param pom The path to the pom file
-     * @return The XML document
+     * @return The POM file with its parsed XML document
      */
-    private Document staticPomParse(Path pom) {
+    private PomEditor readPom(Path pom) {
         if (pom == null || !pom.toFile().exists()) {
             addError("No pom file found");
             raiseLastError();
             return null;
         }
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(pom.toFile());
+            PomEditor pomEditor = new PomEditor(pom.toString());
+            pomEditor.getDocument();
+            return pomEditor;
         } catch (Exception e) {
             addError("Failed to parse pom file: " + pom, e);
             raiseLastError();
@@ -1,5 +1,7 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
+import java.util.List;
+
 /**
  * A plugin processing exception
  */
@@ -10,6 +12,11 @@ public class PluginProcessingException extends ModernizerException {
      */
     private final Plugin plugin;
 
+    /**
+     * Excerpt of the Maven output explaining the failure
+     */
+    private final List<String> output;
+
     /**
      * Create a new PluginProcessingException
      * @param message The message
@@ -24,8 +31,19 @@ public class PluginProcessingException extends ModernizerException {
      * @param cause The cause
      */
     public PluginProcessingException(String message, Throwable cause, Plugin plugin) {
+        this(message, cause, List.of(), plugin);
+    }
+
+    /**
+     * Create a new PluginProcessingException for a failed Maven build
+     * @param message The message
+     * @param cause The cause
+     * @param output Excerpt of the Maven output explaining the failure
+     */
+    public PluginProcessingException(String message, Throwable cause, List<String> output, Plugin plugin) {
         super(message, cause);
         this.plugin = plugin;
+        this.output = List.copyOf(output);
     }
 
     /**
@@ -35,4 +53,12 @@ public class PluginProcessingException extends ModernizerException {
     public Plugin getPlugin() {
         return plugin;
     }
+
+    /**
+     * Get the excerpt of the Maven output explaining the failure
+     * @return The output lines or an empty list if the error is not a Maven build failure
+     */
+    public List<String> getOutput() {
+        return output;
+    }
 }
@@ -1,11 +1,18 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
-import io.jenkins.tools.pluginmodernizer.core.utils.PomModifier;
-import java.util.function.BiFunction;
-import java.util.function.Function;
-import javax.xml.xpath.XPath;
+import io.jenkins.tools.pluginmodernizer.core.utils.PomEditor;
+import io.jenkins.tools.pluginmodernizer.core.utils.XmlUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.xml.xpath.XPathConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 
 /**
@@ -20,81 +27,55 @@ public enum PreconditionError {
      * No pom file found
      */
     NO_POM(
-            (document, xpath) -> document == null,
-            plugin -> false, // No remediation function available if pom is missing
+            document -> document == null,
+            pomEditor -> false, // No remediation function available if pom is missing
             "No pom file found"),
 
     /**
      * If the plugin has HTTP repositories preventing modernization
      */
     MAVEN_REPOSITORIES_HTTP(
-            (document, xpath) -> {
+            document -> {
                 if (document == null) {
                     return false;
                 }
                 try {
-                    Double nonHttpsRepositories = (Double) xpath.evaluate(
-                            "count(//*[local-name()='project']/*[local-name()='repositories']/*[local-name()='repository']/*[local-name()='url' and not(starts-with(., 'https'))])",
-                            document,
-                            XPathConstants.NUMBER);
+                    Double nonHttpsRepositories = (Double) XmlUtils.compile(
+                                    "count(//*[local-name()='project']/*[local-name()='repositories']/*[local-name()='repository']/*[local-name()='url' and not(starts-with(., 'https'))])")
+                            .evaluate(document, XPathConstants.NUMBER);
                     return nonHttpsRepositories != null && !nonHttpsRepositories.equals(0.0);
                 } catch (Exception e) {
                     return false;
                 }
             },
-            plugin -> {
-                PomModifier pomModifier = new PomModifier(
-                        plugin.getLocalRepository().resolve("pom.xml").toString());
-                try {
-                    boolean changed = pomModifier.replaceHttpWithHttps();
-                    if (changed) {
-                        pomModifier.savePom(
-                                plugin.getLocalRepository().resolve("pom.xml").toString());
-                        plugin.withoutErrors();
-                        return true;
-                    } else {
-                        return false;
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return false;
-                }
-            },
+            PomEditor::replaceHttpWithHttps,
             "Found non-https repository URL in pom file preventing maven older than 3.8.1"),
 
     /**
      * If the plugin has an older Java version preventing modernization
      */
     OLDER_JAVA_VERSION(
-            (document, xpath) -> {
+            document -> {
                 if (document == null) {
                     return false;
                 }
                 try {
-                    String javaVersion = (String) xpath.evaluate(
-                            "//*[local-name()='project']/*[local-name()='properties']/*[local-name()='java.level']",
-                            document,
-                            XPathConstants.STRING);
+                    String javaVersion = (String) XmlUtils.compile(
+                                    "//*[local-name()='project']/*[local-name()='properties']/*[local-name()='java.level']")
+                            .evaluate(document, XPathConstants.STRING);
                     return javaVersion != null
                             && (javaVersion.equals("7") || javaVersion.equals("6") || javaVersion.equals("5"));
                 } catch (Exception e) {
                     return false;
                 }
             },
-            plugin -> {
-                PomModifier pomModifier = new PomModifier(
-                        plugin.getLocalRepository().resolve("pom.xml").toString());
-                pomModifier.removeOffendingProperties();
-                pomModifier.addBom(
+            pomEditor -> {
+                pomEditor.removeOffendingProperties();
+                pomEditor.addBom(
                         "io.jenkins.tools.bom", Settings.REMEDIATION_BOM_BASE, Settings.REMEDIATION_BOM_VERSION);
-                pomModifier.updateParentPom(
+                pomEditor.updateParentPom(
                         "org.jenkins-ci.plugins", "plugin", Settings.REMEDIATION_PLUGIN_PARENT_VERSION);
-                pomModifier.updateJenkinsMinimalVersion(Settings.REMEDIATION_JENKINS_MINIMUM_VERSION);
-
-                pomModifier.savePom(
-                        plugin.getLocalRepository().resolve("pom.xml").toString());
-                // new CacheManager(config.getCachePath())
-                plugin.withoutErrors();
+                pomEditor.updateJenkinsMinimalVersion(Settings.REMEDIATION_JENKINS_MINIMUM_VERSION);
                 return true;
             },
             "Found older Java version in pom file preventing using recent Maven older than 3.9.x"),
@@ -103,43 +84,37 @@ public enum PreconditionError {
      * If the plugin has missing relative path preventing modernization
      */
     MISSING_RELATIVE_PATH(
-            (document, xpath) -> {
-                try {
-                    Double parentRelativePath = (Double) xpath.evaluate(
-                            "count(//*[local-name()='project']/*[local-name()='parent']/*[local-name()='relativePath'])",
-                            document,
-                            XPathConstants.NUMBER);
-                    return parentRelativePath == null || parentRelativePath.equals(0.0);
-                } catch (Exception e) {
+            document -> {
+                if (document == null) {
                     return false;
                 }
-            },
-            plugin -> {
                 try {
-                    PomModifier pomModifier = new PomModifier(
-                            plugin.getLocalRepository().resolve("pom.xml").toString());
-                    pomModifier.addRelativePath();
-                    pomModifier.savePom(
-                            plugin.getLocalRepository().resolve("pom.xml").toString());
-                    plugin.withoutErrors();
-                    return true;
+                    Double parentRelativePath = (Double) XmlUtils.compile(
+                                    "count(//*[local-name()='project']/*[local-name()='parent']/*[local-name()='relativePath'])")
+                            .evaluate(document, XPathConstants.NUMBER);
+                    return parentRelativePath == null || parentRelativePath.equals(0.0);
                 } catch (Exception e) {
-                    e.printStackTrace();
                     return false;
                 }
             },
+            pomEditor -> {
+                pomEditor.addRelativePath();
+                return true;
+            },
             "Missing relative path in pom file preventing parent download");
 
+    private static final Logger LOG = LoggerFactory.getLogger(PreconditionError.class);
+
     /**
-     * Predicate to check if the flag is applicable for the given Document and XPath
+     * Predicate to check if the flag is applicable for the given Document
      */
-    private final BiFunction<Document, XPath, Boolean> isApplicable;
+    private final Predicate<Document> isApplicable;
 
     /**
-     * Remediation function to fix the error transforming plugin before OpenRewrite
+     * Remediation function to fix the error editing the POM file before OpenRewrite
      * This function should return true if the remediation was successful, false otherwise
      */
-    private final Function<Plugin, Boolean> remediation;
+    private final Predicate<PomEditor> remediation;
 
     /**
      * Error message
@@ -150,32 +125,76 @@ public enum PreconditionError {
      * Constructor
      *
      * @param isApplicable Predicate to check if the flag is applicable for the given XML document
+     * @param remediation Remediation function applied on the POM file
+     * @param error Error message
      */
-    PreconditionError(
-            BiFunction<Document, XPath, Boolean> isApplicable, Function<Plugin, Boolean> remediation, String error) {
+    PreconditionError(Predicate<Document> isApplicable, Predicate<PomEditor> remediation, String error) {
         this.isApplicable = isApplicable;
         this.remediation = remediation;
         this.error = error;
     }
 
     /**
-     * Check if the flag is applicable for the given Document and XPath
+     * Check if the flag is applicable for the given Document
      *
-     * @param Document the XML document
-     * @param xpath    the XPath object
+     * @param document the XML document
      * @return true if the flag is applicable, false otherwise
      */
-    public boolean isApplicable(Document Document, XPath xpath) {
-        return isApplicable.apply(Document, xpath);
+    public boolean isApplicable(Document document) {
+        return isApplicable.test(document);
+    }
+
+    /**
+     * Check all the precondition errors on a POM parsed once
+     *
+     * @param pomEditor the POM file or null if missing
+     * @return the applicable errors
+     */
+    public static Set<PreconditionError> check(PomEditor pomEditor) {
+        Document document = pomEditor != null ? pomEditor.getDocument() : null;
+        return Arrays.stream(values())
+                .filter(error -> error.isApplicable(document))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PreconditionError.class)));
     }
 
     /**
-     * Remediate the error for the given plugin
+     * Remediate the given errors of a plugin.
+     * The POM read by the checks is reused if still pending, otherwise the file is read once. All remediations are
+     * applied on the same content which is written once
      *
      * @param plugin the plugin to remediate
+     * @param errors the errors to remediate
+     * @return the errors that were remediated
      */
-    public boolean remediate(Plugin plugin) {
-        return remediation.apply(plugin);
+    public static Set<PreconditionError> remediate(Plugin plugin, Set<PreconditionError> errors) {
+        Path pom = plugin.getLocalRepository().resolve("pom.xml");
+        PomEditor pomEditor = plugin.takePomEditor();
+        Set<PreconditionError> remediated = EnumSet.noneOf(PreconditionError.class);
+        if (errors.isEmpty() || !Files.isRegularFile(pom)) {
+            return remediated;
+        }
+        if (pomEditor == null || !pomEditor.getPath().equals(pom.normalize().toAbsolutePath())) {
+            try {
+                pomEditor = new PomEditor(pom.toString());
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to read pom file {} for remediation", pom, e);
+                return remediated;
+            }
+        }
+        for (PreconditionError error : EnumSet.copyOf(errors)) {
+            try {
+                if (error.remediation.test(pomEditor)) {
+                    remediated.add(error);
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to remediate precondition error {} for plugin {}", error, plugin.getName(), e);
+            }
+        }
+        if (!remediated.isEmpty()) {
+            pomEditor.savePom(pom.toString());
+            plugin.withoutErrors();
+        }
+        return remediated;
     }
 
     /**
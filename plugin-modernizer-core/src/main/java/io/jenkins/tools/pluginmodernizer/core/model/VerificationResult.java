@@ -0,0 +1,11 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.time.Duration;
+
+/**
+ * Result of the verification of a plugin with a given JDK
+ * @param jdk The JDK used to verify the plugin
+ * @param success True if the build succeeded
+ * @param duration The duration of the build
+ */
+public record VerificationResult(JDK jdk, boolean success, Duration duration) {}
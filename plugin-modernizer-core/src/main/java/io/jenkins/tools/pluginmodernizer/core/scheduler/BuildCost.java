@@ -0,0 +1,40 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import java.util.Locale;
+
+/**
+ * Resources used by a Maven build
+ * @param cpus The average number of CPUs busy during the build
+ * @param memoryBytes The peak resident memory of the build processes in bytes
+ */
+public record BuildCost(double cpus, long memoryBytes) {
+
+    private static final long MIB = 1024 * 1024;
+
+    /**
+     * Create a cost
+     * @param cpus The number of CPUs
+     * @param memoryMib The memory in MiB
+     * @return The cost
+     */
+    public static BuildCost of(double cpus, long memoryMib) {
+        return new BuildCost(cpus, memoryMib * MIB);
+    }
+
+    /**
+     * Limit the cost to a capacity
+     * @param capacity The capacity
+     * @return The cost not exceeding the capacity
+     */
+    public BuildCost clamp(HostCapacity capacity) {
+        return new BuildCost(Math.min(cpus, capacity.cpus()), Math.min(memoryBytes, capacity.memoryBytes()));
+    }
+
+    /**
+     * Get a short description of the cost
+     * @return The description
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "%.1f CPUs, %d MiB", cpus, memoryBytes / MIB);
+    }
+}
@@ -0,0 +1,119 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import com.google.gson.JsonParseException;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Estimated cost of the Maven builds by type of build, learned from the previous builds.
+ * Estimates are a moving average of the measured costs, except the memory which grows immediately to a higher peak
+ * to avoid running out of memory, and decreases slowly. Estimates are kept in the cache between runs.
+ */
+public class BuildCosts {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuildCosts.class);
+
+    /**
+     * Name of the file keeping the estimates in the cache directory
+     */
+    static final String FILE_NAME = "build-costs.json";
+
+    /**
+     * Weight of a new measure in the moving average
+     */
+    static final double SMOOTHING = 0.3;
+
+    /**
+     * Estimates before the first build of each type
+     */
+    private static final Map<String, BuildCost> DEFAULTS = Map.of(
+            "verify", BuildCost.of(2, 3072),
+            "rewrite", BuildCost.of(1, 2048),
+            "compile", BuildCost.of(1, 1536));
+
+    /**
+     * Estimate of build types without default
+     */
+    private static final BuildCost DEFAULT = BuildCost.of(1, 2048);
+
+    private final @Nullable Path file;
+
+    private final Map<String, BuildCost> costs = new ConcurrentHashMap<>();
+
+    private BuildCosts(@Nullable Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the estimates kept in the cache
+     * @param cachePath The cache directory or null to keep the estimates in memory only
+     * @return The estimates
+     */
+    public static BuildCosts load(@Nullable Path cachePath) {
+        Path file = cachePath != null ? cachePath.resolve(FILE_NAME) : null;
+        BuildCosts buildCosts = new BuildCosts(file);
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                Estimates estimates = JsonUtils.fromJson(file, Estimates.class);
+                if (estimates != null && estimates.costs() != null) {
+                    buildCosts.costs.putAll(estimates.costs());
+                }
+            } catch (ModernizerException | JsonParseException e) {
+                LOG.warn("Ignoring invalid build costs {}: {}", file, e.getMessage());
+            }
+        }
+        return buildCosts;
+    }
+
+    /**
+     * Get the estimated cost of a type of build
+     * @param type The type of build (e.g., "verify")
+     * @return The estimated cost
+     */
+    public BuildCost estimate(String type) {
+        return costs.getOrDefault(type, DEFAULTS.getOrDefault(type, DEFAULT));
+    }
+
+    /**
+     * Update the estimate of a type of build with the measured cost of a build
+     * @param type The type of build
+     * @param measured The measured cost
+     */
+    public void learn(String type, BuildCost measured) {
+        costs.merge(type, measured, (previous, cost) -> new BuildCost(
+                previous.cpus() + SMOOTHING * (cost.cpus() - previous.cpus()),
+                Math.max(
+                        cost.memoryBytes(),
+                        Math.round(previous.memoryBytes()
+                                + SMOOTHING * (cost.memoryBytes() - previous.memoryBytes())))));
+        LOG.debug("Estimated cost of {} builds: {}", type, estimate(type).summary());
+    }
+
+    /**
+     * Keep the learned estimates in the file
+     */
+    public void save() {
+        if (file == null || costs.isEmpty()) {
+            return;
+        }
+        try {
+            JsonUtils.toJsonFile(new Estimates(new TreeMap<>(costs)), file);
+        } catch (ModernizerException e) {
+            LOG.warn("Unable to save build costs {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Content of the file
+     * @param costs The estimates by type of build
+     */
+    private record Estimates(Map<String, BuildCost> costs) {}
+}
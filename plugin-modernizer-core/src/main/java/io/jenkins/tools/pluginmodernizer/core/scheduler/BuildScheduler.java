@@ -0,0 +1,185 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limit the Maven builds running at the same time to the CPUs and memory of the host.
+ * Each build holds the estimated cost of its type until it completes. Builds start in the order they were requested,
+ * so a heavy build is not delayed forever by lighter ones. A build costing more than the capacity runs alone.
+ */
+public class BuildScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuildScheduler.class);
+
+    private final HostCapacity capacity;
+
+    private final BuildCosts costs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    /**
+     * Builds waiting to start, in order
+     */
+    private final Deque<Object> waiting = new ArrayDeque<>();
+
+    private double cpusInUse;
+
+    private long memoryInUse;
+
+    private int running;
+
+    /**
+     * Create a scheduler
+     * @param capacity The capacity shared by the builds
+     * @param costs The estimated cost of the builds
+     */
+    public BuildScheduler(HostCapacity capacity, BuildCosts costs) {
+        this.capacity = capacity;
+        this.costs = costs;
+    }
+
+    /**
+     * Wait until the host can run a build
+     * @param type The type of build (e.g., "verify")
+     * @return The lease of the resources, to close when the build completes
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Lease acquire(String type) throws InterruptedException {
+        BuildCost cost = costs.estimate(type).clamp(capacity);
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            waiting.add(ticket);
+            if (waiting.peek() != ticket || !fits(cost)) {
+                LOG.debug("Waiting for {} to run {} build", cost.summary(), type);
+            }
+            try {
+                while (waiting.peek() != ticket || !fits(cost)) {
+                    released.await();
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(ticket);
+                released.signalAll();
+                throw e;
+            }
+            waiting.remove();
+            cpusInUse += cost.cpus();
+            memoryInUse += cost.memoryBytes();
+            running++;
+            // The next build may fit too
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return new Lease(type, cost);
+    }
+
+    /**
+     * Keep the learned costs for the next runs
+     */
+    public void save() {
+        costs.save();
+    }
+
+    /**
+     * Get the capacity shared by the builds
+     * @return The capacity
+     */
+    public HostCapacity getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Register the gauges of the resources in use
+     * @param metrics The registry
+     */
+    public void registerMetrics(MetricsRegistry metrics) {
+        metrics.gauge(
+                "build_cpus_in_use", "Estimated CPUs used by running Maven builds", () -> locked(() -> cpusInUse));
+        metrics.gauge(
+                "build_memory_in_use_bytes",
+                "Estimated memory used by running Maven builds",
+                () -> locked(() -> memoryInUse));
+        metrics.gauge("builds_waiting", "Maven builds waiting for CPUs or memory", () -> locked(waiting::size));
+    }
+
+    private boolean fits(BuildCost cost) {
+        return running == 0
+                || (cpusInUse + cost.cpus() <= capacity.cpus()
+                        && memoryInUse + cost.memoryBytes() <= capacity.memoryBytes());
+    }
+
+    private void release(BuildCost cost) {
+        lock.lock();
+        try {
+            cpusInUse -= cost.cpus();
+            memoryInUse -= cost.memoryBytes();
+            running--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double locked(DoubleSupplier value) {
+        lock.lock();
+        try {
+            return value.getAsDouble();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resources held by a running build
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String type;
+
+        private final BuildCost cost;
+
+        private boolean closed;
+
+        private Lease(String type, BuildCost cost) {
+            this.type = type;
+            this.cost = cost;
+        }
+
+        /**
+         * Get the estimated cost held by the build
+         * @return The cost
+         */
+        public BuildCost getCost() {
+            return cost;
+        }
+
+        /**
+         * Learn the measured cost of the build for the next builds of its type
+         * @param measured The measured cost
+         */
+        public void learn(BuildCost measured) {
+            costs.learn(type, measured);
+        }
+
+        /**
+         * Release the resources
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(cost);
+            }
+        }
+    }
+}
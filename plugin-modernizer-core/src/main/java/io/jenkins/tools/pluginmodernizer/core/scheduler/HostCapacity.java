@@ -0,0 +1,163 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CPUs and memory available to the Maven builds.
+ * Limits of the control group of this process (cgroup v2 or v1, e.g. set by a container runtime) take precedence over
+ * the processors and physical memory of the host. The memory used by this JVM is not available to the builds.
+ * @param cpus The number of CPUs
+ * @param memoryBytes The memory in bytes
+ */
+public record HostCapacity(double cpus, long memoryBytes) {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostCapacity.class);
+
+    /**
+     * Mount point of the control groups on Linux
+     */
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+
+    /**
+     * Memory assumed when the physical memory cannot be determined
+     */
+    private static final long DEFAULT_MEMORY_BYTES = 8L * 1024 * 1024 * 1024;
+
+    /**
+     * Detect the capacity of the host
+     * @return The capacity
+     */
+    public static HostCapacity detect() {
+        long physicalMemory = DEFAULT_MEMORY_BYTES;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean bean && bean.getTotalMemorySize() > 0) {
+            physicalMemory = bean.getTotalMemorySize();
+        }
+        return detect(
+                resolveCgroup(CGROUP_ROOT, Path.of("/proc/self/cgroup")),
+                Runtime.getRuntime().availableProcessors(),
+                physicalMemory,
+                Runtime.getRuntime().maxMemory());
+    }
+
+    /**
+     * Detect the capacity from a control group
+     * @param cgroup The control group directory of this process
+     * @param processors The number of processors of the host
+     * @param physicalMemory The physical memory of the host
+     * @param reservedMemory The memory not available to the builds
+     * @return The capacity
+     */
+    static HostCapacity detect(Path cgroup, int processors, long physicalMemory, long reservedMemory) {
+        double cpus = processors;
+        OptionalDouble cpuLimit = readCpuLimit(cgroup);
+        if (cpuLimit.isPresent()) {
+            cpus = Math.min(cpus, cpuLimit.getAsDouble());
+        }
+        long memory = physicalMemory;
+        OptionalLong memoryLimit = readMemoryLimit(cgroup);
+        if (memoryLimit.isPresent()) {
+            memory = Math.min(memory, memoryLimit.getAsLong());
+        }
+        return new HostCapacity(Math.max(1, cpus), Math.max(0, memory - reservedMemory));
+    }
+
+    /**
+     * Get a short description of the capacity
+     * @return The description
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "%.1f CPUs, %d MiB", cpus, memoryBytes / (1024 * 1024));
+    }
+
+    /**
+     * Resolve the cgroup v2 directory of this process, or the root for cgroup v1 and containers
+     * @param root The mount point of the control groups
+     * @param self The control groups of this process
+     * @return The control group directory
+     */
+    @SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Path from /proc/self/cgroup")
+    static Path resolveCgroup(Path root, Path self) {
+        for (String line : readLines(self)) {
+            if (line.startsWith("0::/") && line.length() > 4) {
+                Path cgroup = root.resolve(line.substring(4));
+                if (Files.isDirectory(cgroup)) {
+                    return cgroup;
+                }
+            }
+        }
+        return root;
+    }
+
+    private static OptionalDouble readCpuLimit(Path cgroup) {
+        // cgroup v2: "<quota> <period>" or "max <period>"
+        List<String> max = readLines(cgroup.resolve("cpu.max"));
+        if (!max.isEmpty()) {
+            String[] values = max.get(0).trim().split("\\s+");
+            if (values.length == 2 && !values[0].equals("max")) {
+                return ratio(values[0], values[1]);
+            }
+            return OptionalDouble.empty();
+        }
+        // cgroup v1: quota of -1 for unlimited
+        List<String> quota = readLines(cgroup.resolve("cpu").resolve("cpu.cfs_quota_us"));
+        List<String> period = readLines(cgroup.resolve("cpu").resolve("cpu.cfs_period_us"));
+        if (quota.isEmpty() || period.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return ratio(quota.get(0).trim(), period.get(0).trim());
+    }
+
+    private static OptionalLong readMemoryLimit(Path cgroup) {
+        List<String> limit = readLines(cgroup.resolve("memory.max"));
+        if (limit.isEmpty()) {
+            limit = readLines(cgroup.resolve("memory").resolve("memory.limit_in_bytes"));
+        }
+        if (limit.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        // "max" on cgroup v2. cgroup v1 reports a huge value instead, which is above the physical memory
+        try {
+            long bytes = Long.parseLong(limit.get(0).trim());
+            return bytes > 0 ? OptionalLong.of(bytes) : OptionalLong.empty();
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static OptionalDouble ratio(String quota, String period) {
+        try {
+            long quotaValue = Long.parseLong(quota);
+            long periodValue = Long.parseLong(period);
+            if (quotaValue <= 0 || periodValue <= 0) {
+                return OptionalDouble.empty();
+            }
+            return OptionalDouble.of((double) quotaValue / periodValue);
+        } catch (NumberFormatException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    private static List<String> readLines(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException e) {
+            LOG.debug("Unable to read {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.jenkins.tools.pluginmodernizer.core.tracing;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append spans to a file in the OTLP/JSON format, one {@code ExportTraceServiceRequest} per line.
+ * This is the format of the OpenTelemetry collector file exporter, so the file can be replayed to a collector
+ * with its {@code otlpjsonfile} receiver, or read directly by tools supporting it
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Trace path from the command line")
+public class OtlpJsonFileExporter implements SpanExporter {
+
+    /**
+     * Name of the instrumentation scope and of the service
+     */
+    public static final String SERVICE_NAME = "plugin-modernizer";
+
+    /**
+     * OTLP span kind for internal operations
+     */
+    private static final int SPAN_KIND_INTERNAL = 1;
+
+    /**
+     * OTLP status code of failed spans
+     */
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final Path file;
+
+    private final String serviceVersion;
+
+    /**
+     * Create an exporter
+     * @param file The file to append to
+     * @param serviceVersion The version of the tool, can be null
+     */
+    public OtlpJsonFileExporter(Path file, @Nullable String serviceVersion) {
+        this.file = file;
+        this.serviceVersion = serviceVersion;
+    }
+
+    @Override
+    public synchronized void export(List<Span> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        String line = JsonUtils.toJson(toRequest(spans)) + "\n";
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(
+                    file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write traces to " + file, e);
+        }
+    }
+
+    /**
+     * Build the OTLP/JSON export request of spans
+     * @param spans The spans
+     * @return The request as JSON tree
+     */
+    Map<String, Object> toRequest(List<Span> spans) {
+        List<Map<String, Object>> resourceAttributes = new ArrayList<>();
+        resourceAttributes.add(attribute("service.name", SERVICE_NAME));
+        if (serviceVersion != null) {
+            resourceAttributes.add(attribute("service.version", serviceVersion));
+        }
+        Map<String, Object> scope = new LinkedHashMap<>();
+        scope.put("name", SERVICE_NAME);
+        if (serviceVersion != null) {
+            scope.put("version", serviceVersion);
+        }
+        Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", scope);
+        scopeSpans.put("spans", spans.stream().map(this::toSpan).toList());
+        Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", Map.of("attributes", resourceAttributes));
+        resourceSpans.put("scopeSpans", List.of(scopeSpans));
+        return Map.of("resourceSpans", List.of(resourceSpans));
+    }
+
+    private Map<String, Object> toSpan(Span span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            json.put("parentSpanId", span.getParentSpanId());
+        }
+        json.put("name", span.getName());
+        json.put("kind", SPAN_KIND_INTERNAL);
+        // 64-bit integers are strings in the protobuf JSON mapping
+        json.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        json.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        json.put(
+                "attributes",
+                span.getAttributes().entrySet().stream()
+                        .map(entry -> attribute(entry.getKey(), entry.getValue()))
+                        .toList());
+        if (span.isError()) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("code", STATUS_CODE_ERROR);
+            if (span.getStatusMessage() != null) {
+                status.put("message", span.getStatusMessage());
+            }
+            json.put("status", status);
+        }
+        return json;
+    }
+
+    private static Map<String, Object> attribute(String key, Object value) {
+        Map<String, Object> attribute = new LinkedHashMap<>();
+        attribute.put("key", key);
+        if (value instanceof Boolean bool) {
+            attribute.put("value", Map.of("boolValue", bool));
+        } else if (value instanceof Long number) {
+            attribute.put("value", Map.of("intValue", number.toString()));
+        } else {
+            attribute.put("value", Map.of("stringValue", String.valueOf(value)));
+        }
+        return attribute;
+    }
+}
@@ -0,0 +1,160 @@
+package io.jenkins.tools.pluginmodernizer.core.tracing;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timed operation of a trace, with the identifiers and attributes of the OpenTelemetry span model.
+ * A span without parent is the root of its trace. Spans are ended once, further calls to {@link #end()} are ignored
+ */
+public class Span {
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long startEpochNanos;
+    private final Map<String, Object> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile long endEpochNanos;
+    private volatile boolean error;
+    private volatile String statusMessage;
+
+    Span(Tracer tracer, String traceId, String spanId, @Nullable String parentSpanId, String name) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startEpochNanos = epochNanos(tracer.now());
+    }
+
+    /**
+     * Set a string attribute
+     * @param key The attribute key (e.g., "maven.goals")
+     * @param value The value. Null values are ignored
+     * @return This span
+     */
+    public Span setAttribute(String key, @Nullable String value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Set an integer attribute
+     * @param key The attribute key (e.g., "maven.exit_code")
+     * @param value The value
+     * @return This span
+     */
+    public Span setAttribute(String key, long value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    /**
+     * Set a boolean attribute
+     * @param key The attribute key
+     * @param value The value
+     * @return This span
+     */
+    public Span setAttribute(String key, boolean value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    /**
+     * Mark the span as failed
+     * @param message The error message, can be null
+     * @return This span
+     */
+    public Span setError(@Nullable String message) {
+        this.error = true;
+        this.statusMessage = message;
+        return this;
+    }
+
+    /**
+     * End the span and hand it to the tracer for export
+     */
+    public void end() {
+        synchronized (this) {
+            if (endEpochNanos != 0) {
+                return;
+            }
+            endEpochNanos = Math.max(epochNanos(tracer.now()), startEpochNanos);
+        }
+        tracer.onEnd(this);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Get the identifier of the parent span
+     * @return The parent span identifier or null for the root span of the trace
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean isRoot() {
+        return parentSpanId == null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    /**
+     * Get the end time of the span
+     * @return The end time in nanoseconds since the epoch or 0 if the span is not ended
+     */
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public boolean isEnded() {
+        return endEpochNanos != 0;
+    }
+
+    /**
+     * Get a copy of the attributes in insertion order
+     * @return The attributes
+     */
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return new LinkedHashMap<>(attributes);
+        }
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + traceId + "/" + spanId;
+    }
+}
@@ -0,0 +1,15 @@
+package io.jenkins.tools.pluginmodernizer.core.tracing;
+
+import java.util.List;
+
+/**
+ * Destination of ended spans. Implementations can write files or send spans to a collector
+ */
+public interface SpanExporter {
+
+    /**
+     * Export ended spans, usually all spans of a trace once its root span ended
+     * @param spans The spans in end order
+     */
+    void export(List<Span> spans);
+}
@@ -0,0 +1,138 @@
+package io.jenkins.tools.pluginmodernizer.core.tracing;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Create spans and export each trace once its root span ended.
+ * Without exporter, spans are still created so callers don't need to check if tracing is enabled, but are dropped
+ */
+public class Tracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Tracer.class);
+
+    /**
+     * The exporter or null if tracing is disabled
+     */
+    private final SpanExporter exporter;
+
+    private final Clock clock;
+
+    /**
+     * Ended spans of traces whose root span is not ended yet, by trace ID
+     */
+    private final Map<String, Queue<Span>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Create a tracer dropping all spans
+     */
+    public Tracer() {
+        this(null);
+    }
+
+    /**
+     * Create a tracer exporting to the given exporter
+     * @param exporter The exporter or null to drop spans
+     */
+    public Tracer(@Nullable SpanExporter exporter) {
+        this(exporter, Clock.systemUTC());
+    }
+
+    /**
+     * Create a tracer with a custom clock
+     * @param exporter The exporter or null to drop spans
+     * @param clock The clock of span timestamps
+     */
+    Tracer(@Nullable SpanExporter exporter, Clock clock) {
+        this.exporter = exporter;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a tracer writing traces to an OTLP/JSON file
+     * @param file The file or null to disable tracing
+     * @param serviceVersion The version of the tool, can be null
+     * @return The tracer
+     */
+    public static Tracer create(@Nullable Path file, @Nullable String serviceVersion) {
+        return file == null ? new Tracer() : new Tracer(new OtlpJsonFileExporter(file, serviceVersion));
+    }
+
+    /**
+     * Check if spans are exported
+     * @return True if tracing is enabled
+     */
+    public boolean isEnabled() {
+        return exporter != null;
+    }
+
+    /**
+     * Start a span
+     * @param name The span name
+     * @param parent The parent span or null to start a new trace
+     * @return The started span
+     */
+    public Span start(String name, @Nullable Span parent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String spanId = HexFormat.of().toHexDigits(random.nextLong(1, Long.MAX_VALUE));
+        if (parent == null) {
+            String traceId = HexFormat.of().toHexDigits(random.nextLong(1, Long.MAX_VALUE))
+                    + HexFormat.of().toHexDigits(random.nextLong());
+            return new Span(this, traceId, spanId, null, name);
+        }
+        return new Span(this, parent.getTraceId(), spanId, parent.getSpanId(), name);
+    }
+
+    /**
+     * Export the spans of traces whose root span never ended, for example after an interrupted run
+     */
+    public void flush() {
+        for (String traceId : List.copyOf(pending.keySet())) {
+            Queue<Span> spans = pending.remove(traceId);
+            if (spans != null) {
+                export(new ArrayList<>(spans));
+            }
+        }
+    }
+
+    Instant now() {
+        return clock.instant();
+    }
+
+    /**
+     * Collect an ended span. The trace is exported when its root span ends
+     * @param span The ended span
+     */
+    void onEnd(Span span) {
+        if (exporter == null) {
+            return;
+        }
+        pending.computeIfAbsent(span.getTraceId(), traceId -> new ConcurrentLinkedQueue<>()).add(span);
+        if (span.isRoot()) {
+            Queue<Span> spans = pending.remove(span.getTraceId());
+            if (spans != null) {
+                export(new ArrayList<>(spans));
+            }
+        }
+    }
+
+    private void export(List<Span> spans) {
+        try {
+            exporter.export(spans);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to export {} spans: {}", spans.size(), e.getMessage());
+        }
+    }
+}
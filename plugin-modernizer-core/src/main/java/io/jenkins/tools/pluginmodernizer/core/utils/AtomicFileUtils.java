@@ -0,0 +1,246 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for crash-safe file writes and cross-process file locking.
+ * Files are written to a temporary file in the same directory and then renamed into place so
+ * readers either see the previous content or the new content, never a truncated file.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Paths are computed from the cache location")
+public class AtomicFileUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtomicFileUtils.class);
+
+    /**
+     * In-process holders of file locks. A JVM can only hold one lock on a file so threads must coordinate first
+     */
+    private static final Map<Path, LockHolder> HOLDERS = new ConcurrentHashMap<>();
+
+    private AtomicFileUtils() {
+        // Hide constructor
+    }
+
+    /**
+     * Write a string to the given file atomically
+     * @param path The target file
+     * @param content The content to write
+     */
+    public static void write(Path path, String content) throws IOException {
+        write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write bytes to the given file atomically
+     * @param path The target file
+     * @param content The content to write
+     */
+    public static void write(Path path, byte[] content) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path parent = target.getParent();
+        if (parent == null) {
+            throw new IOException("Cannot write file without parent directory: " + target);
+        }
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "." + target.getFileName(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            move(temp, target);
+            LOG.trace("Atomically wrote {} bytes to {}", content.length, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Move a file or directory, atomically if supported by the file system, replacing the target if it exists
+     * @param source The source path
+     * @param target The target path
+     */
+    public static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.debug("Atomic move not supported from {} to {}. Falling back to regular move", source, target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Acquire an exclusive lock shared between threads of this JVM and other processes.
+     * The lock is reentrant for the current thread.
+     * @param lockFile The lock file. Created if missing and never removed
+     * @return The lock to close once the critical section is done
+     */
+    public static Lock lock(Path lockFile) {
+        return lock(List.of(lockFile));
+    }
+
+    /**
+     * Acquire the exclusive locks of several files. Locks are always acquired in the order of their paths so two
+     * threads or processes locking the same files cannot deadlock.
+     * @param lockFiles The lock files. Created if missing and never removed
+     * @return The lock of all the files to close once the critical section is done
+     */
+    public static Lock lock(Collection<Path> lockFiles) {
+        SortedSet<Path> keys = new TreeSet<>();
+        lockFiles.forEach(lockFile -> keys.add(lockFile.toAbsolutePath().normalize()));
+        List<LockHolder> holders = new ArrayList<>(keys.size());
+        try {
+            for (Path key : keys) {
+                holders.add(acquire(key));
+            }
+        } catch (RuntimeException e) {
+            release(holders);
+            throw e;
+        }
+        return new Lock(holders);
+    }
+
+    /**
+     * Get the number of lock files in use by this JVM
+     * @return The number of locks held or waited for
+     */
+    static int locksInUse() {
+        return HOLDERS.size();
+    }
+
+    private static LockHolder acquire(Path key) {
+        // Count the users before locking so the holder is not forgotten while a thread waits for it
+        LockHolder holder = HOLDERS.compute(key, (path, current) -> {
+            LockHolder used = current != null ? current : new LockHolder(path);
+            used.users++;
+            return used;
+        });
+        holder.lock.lock();
+        if (holder.lock.getHoldCount() == 1) {
+            try {
+                holder.acquire();
+            } catch (IOException | RuntimeException e) {
+                // e.g. OverlappingFileLockException if the file is locked through another channel of this JVM
+                holder.lock.unlock();
+                forget(holder);
+                throw new ModernizerException("Unable to lock " + key, e);
+            }
+        }
+        return holder;
+    }
+
+    private static void release(List<LockHolder> holders) {
+        for (int i = holders.size() - 1; i >= 0; i--) {
+            LockHolder holder = holders.get(i);
+            try {
+                if (holder.lock.getHoldCount() == 1) {
+                    holder.release();
+                }
+            } finally {
+                holder.lock.unlock();
+                forget(holder);
+            }
+        }
+    }
+
+    /**
+     * Remove the holder of a lock file once it has no more users
+     * @param holder The holder
+     */
+    private static void forget(LockHolder holder) {
+        HOLDERS.computeIfPresent(holder.path, (path, current) -> --current.users == 0 ? null : current);
+    }
+
+    /**
+     * Lock on one or more files. Must be closed by the thread that acquired it
+     */
+    public static final class Lock implements AutoCloseable {
+
+        private final List<LockHolder> holders;
+
+        private Lock(List<LockHolder> holders) {
+            this.holders = holders;
+        }
+
+        @Override
+        public void close() {
+            release(holders);
+        }
+    }
+
+    /**
+     * Thread lock and file lock for a given lock file
+     */
+    private static final class LockHolder {
+
+        private final Path path;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Number of acquisitions not yet closed, including waiting threads. Guarded by HOLDERS
+         */
+        private int users;
+
+        private FileChannel channel;
+        private FileLock fileLock;
+
+        private LockHolder(Path path) {
+            this.path = path;
+        }
+
+        private void acquire() throws IOException {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                fileLock = channel.lock();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                channel = null;
+                throw e;
+            }
+        }
+
+        private void release() {
+            try {
+                if (fileLock != null) {
+                    fileLock.release();
+                }
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to release lock {}", path, e);
+            } finally {
+                fileLock = null;
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Discover JDKs already installed on the machine so they can be used instead of downloading them.
+ * JDK homes are read from the Maven toolchains file first, then from the usual installation directories.
+ * Each home is identified by its {@code release} file and indexed by major version and architecture.
+ */
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Paths from toolchains and install directories")
+public class JdkDiscovery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdkDiscovery.class);
+
+    /**
+     * JDKs declared in the Maven toolchains file
+     */
+    private final Path toolchains;
+
+    /**
+     * Directories containing one JDK home per subdirectory
+     */
+    private final List<Path> installDirectories;
+
+    /**
+     * Architecture of the JDKs to use
+     */
+    private final String architecture;
+
+    /**
+     * Discovered JDKs by major version, scanned on first use
+     */
+    private volatile Map<Integer, List<LocalJdk>> index;
+
+    /**
+     * Create a discovery for the given locations
+     * @param toolchains The Maven toolchains file. Can be missing
+     * @param installDirectories Directories containing one JDK home per subdirectory. Can be missing
+     * @param architecture The architecture of the JDKs to use (e.g., "x64", "aarch64")
+     */
+    public JdkDiscovery(Path toolchains, List<Path> installDirectories, String architecture) {
+        this.toolchains = toolchains;
+        this.installDirectories = List.copyOf(installDirectories);
+        this.architecture = normalizeArchitecture(architecture);
+    }
+
+    /**
+     * Create a discovery for the default locations of the current machine
+     * @return The JDK discovery
+     */
+    public static JdkDiscovery standard() {
+        Path home = Path.of(System.getProperty("user.home", ""));
+        return new JdkDiscovery(
+                home.resolve(".m2").resolve("toolchains.xml"),
+                List.of(
+                        home.resolve(".sdkman").resolve("candidates").resolve("java"),
+                        Path.of("/usr/lib/jvm"),
+                        Path.of("/usr/java"),
+                        Path.of("/opt/java"),
+                        Path.of("/Library/Java/JavaVirtualMachines")),
+                System.getProperty("os.arch"));
+    }
+
+    /**
+     * Find a local JDK home for a major version and the architecture of this discovery
+     * @param major The Java major version
+     * @return The JDK home if found
+     */
+    public Optional<Path> find(int major) {
+        return getIndex().getOrDefault(major, List.of()).stream()
+                .filter(jdk -> jdk.architecture().equals(architecture))
+                .map(LocalJdk::home)
+                .findFirst();
+    }
+
+    /**
+     * Get all discovered JDKs by major version, whatever their architecture
+     * @return The discovered JDKs in discovery order
+     */
+    public Map<Integer, List<LocalJdk>> getIndex() {
+        Map<Integer, List<LocalJdk>> result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = scan();
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scan the toolchains file and install directories
+     * @return The discovered JDKs by major version
+     */
+    private Map<Integer, List<LocalJdk>> scan() {
+        List<Path> candidates = new ArrayList<>(readToolchains());
+        for (Path directory : installDirectories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> children = Files.list(directory)) {
+                children.filter(child -> !Files.isSymbolicLink(child))
+                        .sorted()
+                        .forEach(candidates::add);
+            } catch (IOException e) {
+                LOG.debug("Unable to list JDKs in {}: {}", directory, e.getMessage());
+            }
+        }
+        Map<Integer, List<LocalJdk>> jdks = new TreeMap<>();
+        List<Path> seen = new ArrayList<>();
+        for (Path candidate : candidates) {
+            LocalJdk jdk = readJdk(candidate);
+            if (jdk == null || seen.contains(jdk.home())) {
+                continue;
+            }
+            seen.add(jdk.home());
+            jdks.computeIfAbsent(jdk.major(), major -> new ArrayList<>()).add(jdk);
+            LOG.debug("Discovered JDK {} ({}) at {}", jdk.major(), jdk.architecture(), jdk.home());
+        }
+        jdks.replaceAll((major, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(jdks);
+    }
+
+    /**
+     * Read the JDK homes declared in the Maven toolchains file. Homes using unresolved expressions are ignored
+     * @return The JDK homes
+     */
+    private List<Path> readToolchains() {
+        if (!Files.isRegularFile(toolchains)) {
+            return List.of();
+        }
+        List<Path> homes = new ArrayList<>();
+        try {
+            NodeList nodes = (NodeList) XmlUtils.compile(
+                            "//*[local-name()='toolchain'][*[local-name()='type']='jdk']"
+                                    + "/*[local-name()='configuration']/*[local-name()='jdkHome']")
+                    .evaluate(XmlUtils.parse(toolchains), XPathConstants.NODESET);
+            for (int i = 0; i < nodes.getLength(); i++) {
+                String jdkHome = nodes.item(i).getTextContent().trim();
+                if (!jdkHome.isEmpty() && !jdkHome.contains("${")) {
+                    homes.add(Path.of(jdkHome));
+                }
+            }
+        } catch (IOException | SAXException | XPathExpressionException e) {
+            LOG.warn("Unable to read Maven toolchains {}: {}", toolchains, e.getMessage());
+        }
+        return homes;
+    }
+
+    /**
+     * Identify a JDK home from its release file
+     * @param candidate The candidate JDK home, or macOS bundle
+     * @return The JDK or null if the candidate is not a complete JDK
+     */
+    private LocalJdk readJdk(Path candidate) {
+        Path home = candidate;
+        if (Files.isDirectory(candidate.resolve("Contents").resolve("Home"))) {
+            home = candidate.resolve("Contents").resolve("Home");
+        }
+        Path release = home.resolve("release");
+        if (!Files.isRegularFile(release)
+                || !(Files.isRegularFile(home.resolve("bin").resolve("javac"))
+                        || Files.isRegularFile(home.resolve("bin").resolve("javac.exe")))) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(release)) {
+            properties.load(in);
+        } catch (IOException e) {
+            LOG.debug("Unable to read {}: {}", release, e.getMessage());
+            return null;
+        }
+        Integer major = parseMajor(unquote(properties.getProperty("JAVA_VERSION")));
+        String arch = normalizeArchitecture(unquote(properties.getProperty("OS_ARCH")));
+        if (major == null || arch == null) {
+            return null;
+        }
+        try {
+            return new LocalJdk(home.toRealPath(), major, arch);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse the major version of a Java version
+     * @param version The Java version (e.g., "1.8.0_392", "17.0.9", "21")
+     * @return The major version or null if not parseable
+     */
+    static Integer parseMajor(String version) {
+        if (version == null) {
+            return null;
+        }
+        String[] parts = version.split("[.\\-+_]");
+        try {
+            int major = Integer.parseInt(parts[0]);
+            return major == 1 && parts.length > 1 ? Integer.valueOf(parts[1]) : Integer.valueOf(major);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Normalize an architecture name to the names used by Adoptium
+     * @param arch The architecture (e.g., "amd64", "x86_64", "arm64")
+     * @return The normalized architecture (e.g., "x64", "aarch64") or null if not supported
+     */
+    static String normalizeArchitecture(String arch) {
+        if (arch == null) {
+            return null;
+        }
+        String lowerCase = arch.toLowerCase(Locale.ROOT);
+        if (lowerCase.contains("amd64") || lowerCase.contains("x86_64") || lowerCase.equals("x64")) {
+            return "x64";
+        } else if (lowerCase.contains("aarch64") || lowerCase.contains("arm64")) {
+            return "aarch64";
+        }
+        return null;
+    }
+
+    private static String unquote(String value) {
+        return value == null ? null : value.trim().replace("\"", "");
+    }
+
+    /**
+     * A JDK installed on the machine
+     * @param home The JDK home
+     * @param major The Java major version
+     * @param architecture The normalized architecture
+     */
+    public record LocalJdk(Path home, int major, String architecture) {}
+}
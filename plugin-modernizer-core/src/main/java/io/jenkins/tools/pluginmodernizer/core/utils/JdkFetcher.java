@@ -6,9 +6,14 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.metrics.MetricsRegistry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -19,13 +24,28 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,15 +56,70 @@ import org.slf4j.LoggerFactory;
 public class JdkFetcher {
     private static final Logger LOG = LoggerFactory.getLogger(JdkFetcher.class);
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of times an interrupted download is resumed
+     */
+    private static final int MAX_DOWNLOAD_RESUMES = 5;
+
     private final Path cacheDir;
 
+    /**
+     * Base URL of the GitHub API of the Adoptium repositories
+     */
+    private final String adoptiumApiUrl;
+
+    /**
+     * In-flight provisioning by JDK version so that concurrent callers share a single download
+     */
+    private final Map<Integer, CompletableFuture<Path>> provisioning = new ConcurrentHashMap<>();
+
+    /**
+     * HTTP client following the redirects of GitHub release downloads
+     */
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+
+    /**
+     * Background provisioning. Virtual threads are daemon threads, so a pending download never prevents exit
+     */
+    private final ExecutorService prefetchExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jdk-prefetch-", 0).factory());
+
+    /**
+     * JDKs installed on the machine, preferred over downloads
+     */
+    private final JdkDiscovery discovery;
+
+    /**
+     * Number of JDKs being downloaded
+     */
+    private final AtomicInteger downloadsInProgress = new AtomicInteger();
+
     public JdkFetcher(Path cacheDir) {
+        this(cacheDir, JdkDiscovery.standard());
+    }
+
+    public JdkFetcher(Path cacheDir, JdkDiscovery discovery) {
+        this(cacheDir, discovery, Settings.ADOPTIUM_GITHUB_API_URL);
+    }
+
+    /**
+     * Create a fetcher downloading from another GitHub API, for testing
+     * @param cacheDir The cache directory
+     * @param discovery The discovery of installed JDKs
+     * @param adoptiumApiUrl The base URL of the GitHub API of the Adoptium repositories
+     */
+    JdkFetcher(Path cacheDir, JdkDiscovery discovery, String adoptiumApiUrl) {
         this.cacheDir = cacheDir;
+        this.discovery = discovery;
+        this.adoptiumApiUrl = adoptiumApiUrl;
     }
 
     /**
-     * Gets the path to the JDK directory for the specified JDK version. If the JDK is not already downloaded,
-     * it triggers the download and setup process.
+     * Gets the path to the JDK directory for the specified JDK version. A JDK already installed on the machine is
+     * used when available. Otherwise, if the JDK is not already downloaded, it triggers the download and setup process.
      *
      * @param jdkVersion The version of the JDK (e.g., 8).
      * @return The path to the JDK directory.
@@ -52,16 +127,139 @@ public class JdkFetcher {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Path getJdkPath(int jdkVersion) throws IOException, InterruptedException {
+        Optional<Path> localJdk = discovery.find(jdkVersion);
+        if (localJdk.isPresent()) {
+            LOG.debug("Using local JDK {} at {}", jdkVersion, localJdk.get());
+            return localJdk.get();
+        }
         Path jdkPath = getJdkDirectoryPath(jdkVersion);
-        if (Files.notExists(jdkPath)) {
-            downloadAndSetupJdk(jdkVersion, jdkPath);
+        if (isValidJdk(jdkPath)) {
+            return jdkPath;
+        }
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> existing = provisioning.putIfAbsent(jdkVersion, future);
+        if (existing != null) {
+            LOG.debug("Waiting for JDK {} being provisioned by another thread", jdkVersion);
+            return await(existing);
+        }
+        try {
+            future.complete(provisionJdk(jdkVersion, jdkPath));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            provisioning.remove(jdkVersion, future);
+        }
+        return await(future);
+    }
+
+    /**
+     * Start provisioning a JDK in the background.
+     * A later {@link #getJdkPath(int)} for the same version waits for this download instead of starting another one.
+     *
+     * @param jdkVersion The version of the JDK (e.g., 8).
+     * @return The future path to the JDK directory
+     */
+    public CompletableFuture<Path> prefetch(int jdkVersion) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return getJdkPath(jdkVersion);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ModernizerException("Interrupted while provisioning JDK " + jdkVersion, e);
+                    }
+                },
+                prefetchExecutor);
+    }
+
+    /**
+     * Wait for the provisioning of a JDK and rethrow its failure
+     * @param future The provisioning future
+     * @return The path to the JDK directory
+     */
+    private Path await(CompletableFuture<Path> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof InterruptedException interruptedException) {
+                throw interruptedException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ModernizerException("Failed to provision JDK", cause);
+        }
+    }
+
+    /**
+     * Provision the JDK while holding a lock shared with other processes using the same cache.
+     * The JDK is extracted to a staging directory, verified and then renamed into place so the final directory is
+     * either missing or complete.
+     *
+     * @param jdkVersion The version of the JDK (e.g., 8).
+     * @param jdkPath The final directory of the JDK.
+     * @return The path to the JDK directory.
+     */
+    private Path provisionJdk(int jdkVersion, Path jdkPath) throws IOException, InterruptedException {
+        Path jdksDir = getJdksDirectoryPath();
+        Files.createDirectories(jdksDir);
+        try (AtomicFileUtils.Lock ignored = AtomicFileUtils.lock(jdksDir.resolve(".jdk-" + jdkVersion + ".lock"))) {
+            // Another process might have provisioned it while we were waiting for the lock
+            if (isValidJdk(jdkPath)) {
+                return jdkPath;
+            }
+            if (Files.exists(jdkPath)) {
+                LOG.warn("Removing incomplete JDK {} at {}", jdkVersion, jdkPath);
+                FileUtils.deleteDirectory(jdkPath.toFile());
+            }
+            Path stagingDir = Files.createTempDirectory(jdksDir, ".staging-jdk-" + jdkVersion + "-");
+            downloadsInProgress.incrementAndGet();
+            try {
+                downloadAndSetupJdk(jdkVersion, stagingDir);
+                if (!isValidJdk(stagingDir)) {
+                    throw new ModernizerException("Downloaded JDK " + jdkVersion + " has no java executable");
+                }
+                AtomicFileUtils.move(stagingDir, jdkPath);
+                LOG.info("JDK {} installed at {}", jdkVersion, jdkPath);
+            } finally {
+                downloadsInProgress.decrementAndGet();
+                if (Files.exists(stagingDir)) {
+                    FileUtils.deleteDirectory(stagingDir.toFile());
+                }
+            }
         }
         return jdkPath;
     }
 
     /**
-     * Downloads and extracts the JDK for the specified version. The method determines the appropriate extraction
-     * method based on the operating system.
+     * Expose the JDK downloads in progress as a metric computed when scraped
+     * @param metrics The metrics registry
+     */
+    public void registerMetrics(MetricsRegistry metrics) {
+        metrics.gauge("jdk_downloads_in_progress", "JDKs currently being downloaded", downloadsInProgress::get);
+    }
+
+    /**
+     * Check if a directory contains a complete JDK
+     * @param jdkPath The JDK directory
+     * @return True if the java executable is present
+     */
+    private boolean isValidJdk(Path jdkPath) {
+        return Files.isRegularFile(jdkPath.resolve("bin").resolve("java"))
+                || Files.isRegularFile(jdkPath.resolve("bin").resolve("java.exe"))
+                || Files.isRegularFile(jdkPath.resolve("Contents").resolve("Home").resolve("bin").resolve("java"));
+    }
+
+    /**
+     * Downloads and extracts the JDK for the specified version while it is being downloaded.
+     * The SHA-256 checksum published with the archive is computed on the fly and verified once the whole archive
+     * was read.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
      * @param extractionDir The directory where the JDK will be extracted.
@@ -69,17 +267,36 @@ public class JdkFetcher {
      * @throws InterruptedException If the operation is interrupted.
      */
     private void downloadAndSetupJdk(int jdkVersion, Path extractionDir) throws IOException, InterruptedException {
-        LOG.info("Downloading the JDK...");
-        Path downloadedFile = downloadJdk(jdkVersion);
-        LOG.info("Download successful");
+        JdkArchive archive = fetchLatestRelease(jdkVersion);
+        if (archive == null) {
+            throw new ModernizerException("No release found for JDK " + jdkVersion);
+        }
+        String expectedChecksum = fetchChecksum(archive);
 
-        LOG.info("Extracting...");
+        LOG.info("Downloading and extracting {}...", archive.name());
         Files.createDirectories(extractionDir);
-        String os = getOSName();
-        if (os.contains("windows")) {
-            extractZip(downloadedFile, extractionDir);
-        } else if (os.contains("linux") || os.contains("mac")) {
-            extractTarGz(downloadedFile, extractionDir);
+        MessageDigest digest = newSha256Digest();
+        try (DigestInputStream in = new DigestInputStream(
+                new BufferedInputStream(new ResumableDownload(archive.url()), BUFFER_SIZE), digest)) {
+            if (archive.name().toLowerCase(Locale.ROOT).endsWith(".zip")) {
+                extractZip(in, extractionDir);
+            } else {
+                extractTarGz(in, extractionDir);
+            }
+            // Read trailing bytes (padding, zip central directory) so the checksum covers the whole archive
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        if (expectedChecksum == null) {
+            LOG.warn("No checksum published for {}. Skipping verification", archive.name());
+        } else if (!expectedChecksum.equalsIgnoreCase(checksum)) {
+            throw new ModernizerException("Checksum mismatch for %s. Expected %s but got %s"
+                    .formatted(archive.name(), expectedChecksum, checksum));
+        } else {
+            LOG.info("Checksum verified for {}", archive.name());
+        }
+        if (!getOSName().contains("windows")) {
             LOG.info("Setting executable permissions for files in bin directory");
             setJavaBinariesPermissions(extractionDir);
         }
@@ -93,69 +310,65 @@ public class JdkFetcher {
      * @return The path to the JDK directory.
      */
     private Path getJdkDirectoryPath(int jdkVersion) {
-        return cacheDir.resolve(".jdks").resolve("plugin-modernizer-jdk-" + jdkVersion);
+        return getJdksDirectoryPath().resolve("plugin-modernizer-jdk-" + jdkVersion);
     }
 
     /**
-     * Downloads the JDK for the specified version from the appropriate URL and saves it to the local directory.
+     * Gets the directory holding all JDKs in the cache directory.
      *
-     * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The path to the downloaded JDK file.
-     * @throws IOException          If an I/O error occurs.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return The path to the JDKs directory.
      */
-    @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "false positive")
-    private Path downloadJdk(int jdkVersion) throws IOException, InterruptedException {
-        String downloadUrl = fetchLatestReleaseUrl(jdkVersion);
-        if (downloadUrl != null) {
-            Path downloadPath = cacheDir.resolve(".jdks").resolve("jdk" + jdkVersion + getExtension(downloadUrl));
-            Path parentPath = downloadPath.getParent();
-            if (parentPath != null) {
-                Files.createDirectories(parentPath);
-            }
-
-            try (InputStream in = URI.create(downloadUrl).toURL().openStream()) {
-                Files.copy(in, downloadPath, StandardCopyOption.REPLACE_EXISTING);
-            }
-            return downloadPath;
-        }
-        return null;
+    private Path getJdksDirectoryPath() {
+        return cacheDir.resolve(".jdks");
     }
 
     /**
-     * Determines the file extension based on the URL.
+     * Fetches the SHA-256 checksum published next to the archive.
      *
-     * @param url The URL of the JDK download.
-     * @return The file extension (e.g., ".zip" or ".tar.gz").
+     * @param archive The JDK archive.
+     * @return The checksum in hexadecimal or null if not published.
+     * @throws IOException          If an I/O error occurs.
+     * @throws InterruptedException If the operation is interrupted.
      */
-    private String getExtension(String url) {
-        return url.toLowerCase().endsWith(".zip") ? ".zip" : ".tar.gz";
+    private String fetchChecksum(JdkArchive archive) throws IOException, InterruptedException {
+        if (archive.checksumUrl() == null) {
+            return null;
+        }
+        HttpRequest request =
+                HttpRequest.newBuilder().uri(URI.create(archive.checksumUrl())).build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            LOG.warn("Failed to fetch checksum of {}. HTTP Status Code: {}", archive.name(), response.statusCode());
+            return null;
+        }
+        // Format is "<checksum>  <file name>"
+        String[] parts = response.body().trim().split("\\s+");
+        return parts.length > 0 && !parts[0].isEmpty() ? parts[0] : null;
     }
 
     /**
-     * Fetches the latest release download URL for a specified JDK version and OS.
+     * Fetches the latest release archive for a specified JDK version and OS.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL of the latest release, or null if not found.
+     * @return The archive of the latest release, or null if not found.
      * @throws IOException          If an I/O error occurs.
      * @throws InterruptedException If the operation is interrupted.
      */
-    private String fetchLatestReleaseUrl(int jdkVersion) throws IOException, InterruptedException {
+    private JdkArchive fetchLatestRelease(int jdkVersion) throws IOException, InterruptedException {
         String latestUrl =
-                String.format("%s/temurin%s-binaries/releases", Settings.ADOPTIUM_GITHUB_API_URL, jdkVersion);
-        HttpClient client = HttpClient.newHttpClient();
+                String.format("%s/temurin%s-binaries/releases", adoptiumApiUrl, jdkVersion);
         HttpRequest request =
                 HttpRequest.newBuilder().uri(URI.create(latestUrl)).build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
         if (response.statusCode() == 200) {
             JsonArray releases = JsonParser.parseString(response.body()).getAsJsonArray();
             for (JsonElement releaseElement : releases) {
                 JsonObject release = releaseElement.getAsJsonObject();
                 JsonArray assets = release.getAsJsonArray("assets");
-                String url = getDownloadUrl(assets, jdkVersion);
-                if (url != null) {
-                    return url;
+                JdkArchive archive = getArchive(assets, jdkVersion);
+                if (archive != null) {
+                    return archive;
                 }
             }
         } else {
@@ -165,21 +378,25 @@ public class JdkFetcher {
     }
 
     /**
-     * Finds the download URL for the JDK based on the JDK version and operating system.
+     * Finds the JDK archive based on the JDK version and operating system.
      *
      * @param assets     A JSON array of assets from a GitHub release.
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL if a matching asset is found, otherwise null.
+     * @return The archive if a matching asset is found, otherwise null.
      */
-    private String getDownloadUrl(JsonArray assets, int jdkVersion) {
+    private JdkArchive getArchive(JsonArray assets, int jdkVersion) {
         String jdkFileName = buildJDKFileName(jdkVersion);
+        Map<String, String> urls = new HashMap<>();
         for (JsonElement element : assets) {
             JsonObject asset = element.getAsJsonObject();
-            String name = asset.get("name").getAsString();
-            if (name.toLowerCase().contains(jdkFileName.toLowerCase())
-                    && (name.toLowerCase().endsWith(".zip")
-                            || name.toLowerCase().endsWith(".tar.gz"))) {
-                return asset.get("browser_download_url").getAsString();
+            urls.put(asset.get("name").getAsString(), asset.get("browser_download_url").getAsString());
+        }
+        for (Map.Entry<String, String> asset : urls.entrySet()) {
+            String name = asset.getKey();
+            if (name.toLowerCase(Locale.ROOT).contains(jdkFileName.toLowerCase(Locale.ROOT))
+                    && (name.toLowerCase(Locale.ROOT).endsWith(".zip")
+                            || name.toLowerCase(Locale.ROOT).endsWith(".tar.gz"))) {
+                return new JdkArchive(name, asset.getValue(), urls.get(name + ".sha256.txt"));
             }
         }
         return null;
@@ -207,7 +424,7 @@ public class JdkFetcher {
      * @throws IllegalArgumentException If the OS is not supported.
      */
     private String normalizeOS(String os) {
-        String normalizedOS = os.toLowerCase().trim();
+        String normalizedOS = os.toLowerCase(Locale.ROOT).trim();
         if (normalizedOS.contains("windows")) {
             return "windows";
         } else if (normalizedOS.contains("mac") || normalizedOS.contains("os x") || normalizedOS.contains("macos")) {
@@ -225,7 +442,7 @@ public class JdkFetcher {
      * @return The operating system name (e.g., "Windows", "Linux", "Mac OS X").
      */
     private String getOSName() {
-        return System.getProperty("os.name").toLowerCase();
+        return System.getProperty("os.name").toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -234,56 +451,49 @@ public class JdkFetcher {
      * @return The architecture (e.g., "x64", "aarch64").
      */
     private String getArchitecture() {
-        String arch = System.getProperty("os.arch").toLowerCase();
-        if (arch.contains("amd64") || arch.contains("x86_64")) {
-            return "x64";
-        } else if (arch.contains("aarch64") || arch.contains("arm64")) {
-            return "aarch64";
-        } else {
+        String arch = System.getProperty("os.arch");
+        String architecture = JdkDiscovery.normalizeArchitecture(arch);
+        if (architecture == null) {
             throw new ModernizerException("Unsupported architecture: " + arch);
         }
+        return architecture;
     }
 
     /**
-     * Extracts a ZIP file to the specified directory without nested directories.
+     * Extracts a ZIP stream to the specified directory without nested directories.
+     * The given stream is not closed.
      *
-     * @param zipFile     The path to the ZIP file.
+     * @param in            The ZIP stream.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractZip(Path zipFile, Path extractionDir) throws IOException {
-        try (ZipInputStream zipIn = new ZipInputStream(Files.newInputStream(zipFile))) {
-            ZipEntry entry;
-            while ((entry = zipIn.getNextEntry()) != null) {
-                if (!entry.isDirectory()) {
-                    extractFile(entry.getName(), zipIn, extractionDir);
-                }
-                zipIn.closeEntry();
+    private void extractZip(InputStream in, Path extractionDir) throws IOException {
+        ZipInputStream zipIn = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zipIn.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                extractFile(entry.getName(), zipIn, extractionDir);
             }
+            zipIn.closeEntry();
         }
-        Files.delete(zipFile);
     }
 
     /**
-     * Extracts a TAR.GZ file to the specified directory without nested directories.
+     * Extracts a TAR.GZ stream to the specified directory without nested directories.
+     * The given stream is not closed.
      *
-     * @param tarGzFile   The path to the TAR.GZ file.
+     * @param in            The TAR.GZ stream.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractTarGz(Path tarGzFile, Path extractionDir) throws IOException {
-        try (InputStream fileStream = Files.newInputStream(tarGzFile);
-                InputStream gzipStream = new GZIPInputStream(fileStream);
-                TarArchiveInputStream tarStream = new TarArchiveInputStream(gzipStream)) {
-
-            TarArchiveEntry entry;
-            while ((entry = tarStream.getNextEntry()) != null) {
-                if (!entry.isDirectory()) {
-                    extractFile(entry.getName(), tarStream, extractionDir);
-                }
+    private void extractTarGz(InputStream in, Path extractionDir) throws IOException {
+        TarArchiveInputStream tarStream = new TarArchiveInputStream(new GZIPInputStream(in, BUFFER_SIZE));
+        TarArchiveEntry entry;
+        while ((entry = tarStream.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                extractFile(entry.getName(), tarStream, extractionDir);
             }
         }
-        Files.delete(tarGzFile);
     }
 
     /**
@@ -339,4 +549,103 @@ public class JdkFetcher {
             LOG.error("Failed to list files in directory {}: {}", binDir, e.getMessage());
         }
     }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return The digest.
+     */
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ModernizerException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * JDK archive of a release
+     * @param name The file name of the archive
+     * @param url The download URL
+     * @param checksumUrl The URL of the SHA-256 checksum file, null if not published
+     */
+    private record JdkArchive(String name, String url, String checksumUrl) {}
+
+    /**
+     * Download stream resuming with HTTP range requests when the connection is interrupted
+     */
+    private final class ResumableDownload extends InputStream {
+
+        private final String url;
+        private InputStream current;
+        private long position;
+        private int resumes;
+
+        private ResumableDownload(String url) throws IOException, InterruptedException {
+            this.url = url;
+            this.current = open(0);
+        }
+
+        @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "false positive")
+        private InputStream open(long from) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder().uri(URI.create(url));
+            if (from > 0) {
+                request.header("Range", "bytes=" + from + "-");
+            }
+            HttpResponse<InputStream> response =
+                    httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            int expectedStatus = from > 0 ? 206 : 200;
+            if (response.statusCode() != expectedStatus) {
+                response.body().close();
+                throw new IOException("Failed to download %s from byte %d. HTTP Status Code: %d"
+                        .formatted(url, from, response.statusCode()));
+            }
+            return response.body();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                try {
+                    int n = current.read(b, off, len);
+                    if (n > 0) {
+                        position += n;
+                    }
+                    return n;
+                } catch (IOException e) {
+                    if (resumes++ >= MAX_DOWNLOAD_RESUMES) {
+                        throw e;
+                    }
+                    LOG.warn("Download of {} interrupted after {} bytes. Resuming: {}", url, position, e.getMessage());
+                    closeQuietly();
+                    try {
+                        current = open(position);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while resuming download of " + url);
+                    }
+                }
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                current.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close download stream of {}", url, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            current.close();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.http.HttpClient;
@@ -39,14 +40,23 @@ public class JsonUtils {
     }
 
     /**
-     * Convert an object to a JSON file
+     * Write an object as JSON to the given writer
+     * @param object The object to convert
+     * @param writer The writer
+     */
+    public static void toJson(Object object, Appendable writer) {
+        gson.toJson(object, writer);
+    }
+
+    /**
+     * Convert an object to a JSON file. The file is replaced atomically
      * @param object The object to convert
      * @param path The path to the JSON file
      */
     public static void toJsonFile(Object object, Path path) {
         try {
             LOG.trace("Writing JSON file to {}", path);
-            FileUtils.writeStringToFile(path.toFile(), gson.toJson(object), StandardCharsets.UTF_8);
+            AtomicFileUtils.write(path, gson.toJson(object));
         } catch (IOException e) {
             throw new ModernizerException("Unable to write JSON file due to IO error", e);
         }
@@ -63,6 +73,17 @@ public class JsonUtils {
         return gson.fromJson(json, clazz);
     }
 
+    /**
+     * Convert JSON from a reader to an object without buffering the whole content
+     * @param reader The reader
+     * @param clazz The class of the object
+     * @param <T> The type of the object
+     * @return The object
+     */
+    public static <T> T fromJson(Reader reader, Class<T> clazz) {
+        return gson.fromJson(reader, clazz);
+    }
+
     /**
      * Convert a JSON string to an object
      * @param path The path to the JSON file
@@ -0,0 +1,589 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Formatting preserving editor for POM files.
+ * <p>
+ * The POM is never loaded into a DOM nor re-serialized. The file is scanned once per modification as a stream of tag,
+ * text and comment events with their exact offsets and only the affected ranges are patched, so whitespace, comments,
+ * attribute order and line endings of the untouched parts are kept byte for byte. The file is decoded and written
+ * back with the encoding declared in its XML prolog, UTF-8 by default.
+ */
+public class PomEditor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PomEditor.class);
+
+    /**
+     * Properties preventing the build of old plugins with recent parent POM
+     */
+    private static final List<String> OFFENDING_PROPERTIES = List.of("jenkins-test-harness.version", "java.level");
+
+    private static final Pattern COMMENTS_AND_WHITESPACE = Pattern.compile("(\\s|<!--.*?-->)*", Pattern.DOTALL);
+
+    private static final Pattern TAG_NAME = Pattern.compile("[^\\s/>]+");
+
+    /**
+     * Encoding declared in the XML prolog, read from the raw bytes as ISO-8859-1 after an optional UTF-8 BOM
+     */
+    private static final Pattern ENCODING = Pattern.compile(
+            "^(?:\u00EF\u00BB\u00BF)?<\\?xml[^>]*?\\sencoding\\s*=\\s*[\"']([A-Za-z][A-Za-z0-9._:-]*)[\"']");
+
+    private static final String DEFAULT_INDENT = "  ";
+
+    /**
+     * Path of the POM file
+     */
+    private final Path path;
+
+    /**
+     * Encoding of the POM file
+     */
+    private final Charset charset;
+
+    /**
+     * Current content of the POM file
+     */
+    private String content;
+
+    /**
+     * Parsed structure of the current content. Reset after each modification
+     */
+    private Element root;
+
+    /**
+     * DOM of the current content for queries. Reset after each modification
+     */
+    private Document document;
+
+    /**
+     * Constructor for PomEditor.
+     *
+     * @param pomFilePath the path to the POM file
+     * @throws IllegalArgumentException if the file path is invalid
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public PomEditor(String pomFilePath) {
+        try {
+            this.path = Paths.get(pomFilePath).normalize().toAbsolutePath();
+            if (!Files.exists(path) || !Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("Invalid file path: " + path);
+            }
+            byte[] bytes = Files.readAllBytes(path);
+            this.charset = charsetOf(bytes);
+            this.content = charset.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid file path: " + pomFilePath, e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read POM file: " + pomFilePath, e);
+        }
+    }
+
+    /**
+     * Get the current content of the POM file.
+     *
+     * @return the content
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Get the path of the POM file.
+     *
+     * @return the normalized absolute path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the current content parsed as a DOM, to query it with XPath. The content is parsed once until the next
+     * modification and the DOM must not be modified.
+     *
+     * @return the document
+     * @throws IllegalArgumentException if the content is not well-formed XML
+     */
+    public Document getDocument() {
+        if (document == null) {
+            try {
+                document = XmlUtils.parse(content);
+            } catch (IOException | SAXException e) {
+                throw new IllegalArgumentException("Unable to parse POM file: " + path, e);
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Get the encoding of the POM file.
+     *
+     * @return the charset used to read and save the file
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Removes offending properties from the POM file together with their preceding comments.
+     */
+    public void removeOffendingProperties() {
+        Optional<Element> properties = root().child("properties");
+        if (properties.isEmpty()) {
+            return;
+        }
+        List<int[]> ranges = new ArrayList<>();
+        Element previous = null;
+        for (Element property : properties.get().children) {
+            if (OFFENDING_PROPERTIES.contains(property.name)) {
+                int gapStart = previous == null ? properties.get().startTagEnd : previous.end;
+                String gap = content.substring(gapStart, property.start);
+                // Remove preceding comments unless separated from the property by other content
+                int start = COMMENTS_AND_WHITESPACE.matcher(gap).matches()
+                        ? gapStart
+                        : gapStart + gap.stripTrailing().length();
+                ranges.add(new int[] {start, property.end});
+            }
+            previous = property;
+        }
+        ranges.sort(Comparator.comparingInt((int[] range) -> range[0]).reversed());
+        StringBuilder builder = new StringBuilder(content);
+        ranges.forEach(range -> builder.delete(range[0], range[1]));
+        update(builder.toString());
+    }
+
+    /**
+     * Updates the parent POM information. The parent is added after the model version if missing.
+     *
+     * @param groupId    the groupId to set
+     * @param artifactId the artifactId to set
+     * @param version    the version to set
+     */
+    public void updateParentPom(String groupId, String artifactId, String version) {
+        Element project = root();
+        Optional<Element> parent = project.child("parent");
+        if (parent.isEmpty()) {
+            String xml = String.join(
+                    "\n",
+                    "<parent>",
+                    DEFAULT_INDENT + "<groupId>" + escape(groupId) + "</groupId>",
+                    DEFAULT_INDENT + "<artifactId>" + escape(artifactId) + "</artifactId>",
+                    DEFAULT_INDENT + "<version>" + escape(version) + "</version>",
+                    "</parent>");
+            insertChild(project, project.child("modelVersion").orElse(null), xml);
+            return;
+        }
+        List<Element> values = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        parent.get().child("groupId").ifPresent(e -> add(values, texts, e, escape(groupId)));
+        parent.get().child("artifactId").ifPresent(e -> add(values, texts, e, escape(artifactId)));
+        parent.get().child("version").ifPresent(e -> add(values, texts, e, escape(version)));
+        setTexts(values, texts);
+    }
+
+    /**
+     * Updates the Jenkins minimal version in the POM file.
+     *
+     * @param version the version to set
+     */
+    public void updateJenkinsMinimalVersion(String version) {
+        Optional<Element> properties = root().child("properties");
+        if (properties.isEmpty()) {
+            return;
+        }
+        Optional<Element> jenkinsVersion = properties.get().child("jenkins.version");
+        if (jenkinsVersion.isPresent()) {
+            setTexts(List.of(jenkinsVersion.get()), List.of(escape(version)));
+        } else {
+            appendChild(properties.get(), "<jenkins.version>" + escape(version) + "</jenkins.version>");
+        }
+    }
+
+    /**
+     * Adds a BOM section to the POM file.
+     *
+     * @param groupId    the groupId of the BOM
+     * @param artifactId the artifactId of the BOM
+     * @param version    the version of the BOM
+     */
+    public void addBom(String groupId, String artifactId, String version) {
+        String dependency = String.join(
+                "\n",
+                "<dependency>",
+                DEFAULT_INDENT + "<groupId>" + escape(groupId) + "</groupId>",
+                DEFAULT_INDENT + "<artifactId>" + escape(artifactId) + "</artifactId>",
+                DEFAULT_INDENT + "<version>" + escape(version) + "</version>",
+                DEFAULT_INDENT + "<type>pom</type>",
+                DEFAULT_INDENT + "<scope>import</scope>",
+                "</dependency>");
+        Element project = root();
+        Optional<Element> dependencyManagement = project.child("dependencyManagement");
+        if (dependencyManagement.isEmpty()) {
+            appendChild(project, wrap("dependencyManagement", wrap("dependencies", dependency)));
+            return;
+        }
+        Optional<Element> dependencies = dependencyManagement.get().child("dependencies");
+        if (dependencies.isEmpty()) {
+            appendChild(dependencyManagement.get(), wrap("dependencies", dependency));
+            return;
+        }
+        appendChild(dependencies.get(), dependency);
+    }
+
+    /**
+     * Replaces 'http' with 'https' in URLs.
+     *
+     * @return true if at least one URL was changed
+     */
+    public boolean replaceHttpWithHttps() {
+        List<Element> urls = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        collect(root(), "url", urls);
+        for (Element url : List.copyOf(urls)) {
+            String text = url.text(content);
+            if (text.startsWith("http://")) {
+                texts.add(text.replace("http://", "https://"));
+            } else {
+                urls.remove(url);
+            }
+        }
+        setTexts(urls, texts);
+        return !urls.isEmpty();
+    }
+
+    /**
+     * Adds a self-closing relativePath tag to the parent tag in the POM file.
+     */
+    public void addRelativePath() {
+        Optional<Element> parent = root().child("parent");
+        if (parent.isEmpty()) {
+            LOG.warn("No parent tag found in POM file");
+            return;
+        }
+        if (parent.get().child("relativePath").isPresent()) {
+            LOG.debug("relativePath tag already exists");
+            return;
+        }
+        appendChild(parent.get(), "<relativePath />");
+        LOG.debug("Added relativePath tag to parent");
+    }
+
+    /**
+     * Saves the modified POM file to the specified output path.
+     *
+     * @param outputPath the path to save the POM file
+     * @throws IllegalArgumentException if the output path is invalid
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public void savePom(String outputPath) {
+        try {
+            ByteBuffer bytes = charset.newEncoder().encode(CharBuffer.wrap(content));
+            byte[] array = new byte[bytes.remaining()];
+            bytes.get(array);
+            AtomicFileUtils.write(Paths.get(outputPath), array);
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid output path: " + outputPath, e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to save POM file: " + outputPath, e);
+        }
+    }
+
+    /**
+     * Get the encoding declared in the XML prolog of a file
+     * @param bytes The content of the file
+     * @return The declared charset, UTF-8 if none or unsupported
+     */
+    static Charset charsetOf(byte[] bytes) {
+        String prolog = new String(bytes, 0, Math.min(bytes.length, 256), StandardCharsets.ISO_8859_1);
+        Matcher encoding = ENCODING.matcher(prolog);
+        if (encoding.find()) {
+            try {
+                return Charset.forName(encoding.group(1));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Unsupported POM encoding {}, using UTF-8", encoding.group(1));
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void add(List<Element> elements, List<String> texts, Element element, String text) {
+        elements.add(element);
+        texts.add(text);
+    }
+
+    private static void collect(Element element, String name, List<Element> result) {
+        for (Element child : element.children) {
+            if (child.name.equals(name)) {
+                result.add(child);
+            }
+            collect(child, name, result);
+        }
+    }
+
+    /**
+     * Replace the text content of leaf elements
+     * @param elements The elements in document order
+     * @param texts The new escaped texts
+     */
+    private void setTexts(List<Element> elements, List<String> texts) {
+        StringBuilder builder = new StringBuilder(content);
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            Element element = elements.get(i);
+            String text = texts.get(i);
+            if (element.selfClosing) {
+                builder.replace(
+                        element.start, element.end, "<" + element.name + ">" + text + "</" + element.name + ">");
+            } else {
+                builder.replace(element.startTagEnd, element.endTagStart, text);
+            }
+        }
+        update(builder.toString());
+    }
+
+    /**
+     * Append a child to an element using the indentation of the document
+     * @param parent The parent element
+     * @param xml The child to append. Nested lines are indented with the default indent
+     */
+    private void appendChild(Element parent, String xml) {
+        String newLine = content.contains("\r\n") ? "\r\n" : "\n";
+        String unit = indentUnit();
+        String parentIndent = indentOf(parent.start);
+        String indent = parent.children.isEmpty()
+                ? parentIndent + unit
+                : indentOf(parent.children.get(parent.children.size() - 1).start);
+        String child = indentLines(xml, newLine, indent, unit);
+        StringBuilder builder = new StringBuilder(content);
+        if (parent.selfClosing) {
+            String startTag = content.substring(parent.start, parent.end - 2).stripTrailing() + ">";
+            builder.replace(
+                    parent.start, parent.end, startTag + child + newLine + parentIndent + "</" + parent.name + ">");
+        } else {
+            String inner = content.substring(parent.startTagEnd, parent.endTagStart);
+            if (inner.isBlank()) {
+                builder.replace(parent.startTagEnd, parent.endTagStart, child + newLine + parentIndent);
+            } else {
+                builder.insert(parent.startTagEnd + inner.stripTrailing().length(), child);
+            }
+        }
+        update(builder.toString());
+    }
+
+    /**
+     * Insert a child after a sibling, or as the first child, using the indentation of the document
+     * @param parent The parent element
+     * @param previous The sibling to insert after, or null to insert first
+     * @param xml The child to insert. Nested lines are indented with the default indent
+     */
+    private void insertChild(Element parent, @Nullable Element previous, String xml) {
+        if (parent.children.isEmpty()) {
+            appendChild(parent, xml);
+            return;
+        }
+        String newLine = content.contains("\r\n") ? "\r\n" : "\n";
+        String indent = indentOf((previous != null ? previous : parent.children.get(0)).start);
+        int offset = previous != null ? previous.end : parent.startTagEnd;
+        StringBuilder builder = new StringBuilder(content);
+        builder.insert(offset, indentLines(xml, newLine, indent, indentUnit()));
+        update(builder.toString());
+    }
+
+    /**
+     * Indent each line of XML, each on a new line
+     * @param xml The XML. Nested lines are indented with the default indent
+     * @param newLine The line separator of the document
+     * @param indent The indentation of the first level
+     * @param unit The indentation unit of the document
+     * @return The indented XML, starting with a line separator
+     */
+    private static String indentLines(String xml, String newLine, String indent, String unit) {
+        return xml.lines()
+                .map(line -> {
+                    int depth = 0;
+                    while (line.startsWith(DEFAULT_INDENT, depth * DEFAULT_INDENT.length())) {
+                        depth++;
+                    }
+                    return newLine + indent + unit.repeat(depth) + line.substring(depth * DEFAULT_INDENT.length());
+                })
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Wrap XML in an element, nested lines are indented with the default indent
+     */
+    private static String wrap(String name, String xml) {
+        return "<" + name + ">\n" + DEFAULT_INDENT + xml.replace("\n", "\n" + DEFAULT_INDENT) + "\n</" + name + ">";
+    }
+
+    /**
+     * Indentation used by the document, computed from the first child of the root element
+     */
+    private String indentUnit() {
+        Element project = root();
+        if (project.children.isEmpty()) {
+            return DEFAULT_INDENT;
+        }
+        String childIndent = indentOf(project.children.get(0).start);
+        String rootIndent = indentOf(project.start);
+        return childIndent.length() > rootIndent.length() ? childIndent.substring(rootIndent.length()) : DEFAULT_INDENT;
+    }
+
+    /**
+     * Whitespace between the start of the line and the given offset
+     */
+    private String indentOf(int offset) {
+        int lineStart = offset;
+        while (lineStart > 0 && (content.charAt(lineStart - 1) == ' ' || content.charAt(lineStart - 1) == '\t')) {
+            lineStart--;
+        }
+        return content.substring(lineStart, offset);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private void update(String newContent) {
+        this.content = newContent;
+        this.root = null;
+        this.document = null;
+    }
+
+    private Element root() {
+        if (root == null) {
+            root = scan(content);
+        }
+        return root;
+    }
+
+    /**
+     * Scan the XML content as a stream of events and build the element structure with their offsets.
+     * Comments, processing instructions, CDATA sections and text are skipped
+     * @param xml The XML content
+     * @return The root element
+     */
+    static Element scan(String xml) {
+        Deque<Element> stack = new ArrayDeque<>();
+        Element root = null;
+        int i = 0;
+        while (i < xml.length()) {
+            int lt = xml.indexOf('<', i);
+            if (lt < 0) {
+                break;
+            }
+            if (xml.startsWith("<!--", lt)) {
+                i = skip(xml, lt, "-->");
+            } else if (xml.startsWith("<![CDATA[", lt)) {
+                i = skip(xml, lt, "]]>");
+            } else if (xml.startsWith("<?", lt)) {
+                i = skip(xml, lt, "?>");
+            } else if (xml.startsWith("<!", lt)) {
+                i = skip(xml, lt, ">");
+            } else if (xml.startsWith("</", lt)) {
+                int gt = skip(xml, lt, ">");
+                Element element = stack.pop();
+                element.endTagStart = lt;
+                element.end = gt;
+                i = gt;
+            } else {
+                int gt = endOfStartTag(xml, lt);
+                Matcher name = TAG_NAME.matcher(xml).region(lt + 1, gt);
+                if (!name.lookingAt()) {
+                    throw new IllegalArgumentException("Invalid XML tag at offset " + lt);
+                }
+                Element element = new Element(name.group(), lt, gt, xml.charAt(gt - 2) == '/');
+                if (!stack.isEmpty()) {
+                    stack.peek().children.add(element);
+                } else if (root == null) {
+                    root = element;
+                }
+                if (element.selfClosing) {
+                    element.endTagStart = gt;
+                    element.end = gt;
+                } else {
+                    stack.push(element);
+                }
+                i = gt;
+            }
+        }
+        if (root == null || !stack.isEmpty()) {
+            throw new IllegalArgumentException("Invalid or truncated XML document");
+        }
+        return root;
+    }
+
+    private static int skip(String xml, int from, String terminator) {
+        int end = xml.indexOf(terminator, from);
+        if (end < 0) {
+            throw new IllegalArgumentException("Unterminated XML construct at offset " + from);
+        }
+        return end + terminator.length();
+    }
+
+    private static int endOfStartTag(String xml, int from) {
+        char quote = 0;
+        for (int i = from + 1; i < xml.length(); i++) {
+            char c = xml.charAt(i);
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated XML tag at offset " + from);
+    }
+
+    /**
+     * Element of the POM with the offsets of its tags in the content
+     */
+    static final class Element {
+
+        private final String name;
+        private final int start;
+        private final int startTagEnd;
+        private final boolean selfClosing;
+        private final List<Element> children = new ArrayList<>();
+        private int endTagStart;
+        private int end;
+
+        private Element(String name, int start, int startTagEnd, boolean selfClosing) {
+            this.name = name;
+            this.start = start;
+            this.startTagEnd = startTagEnd;
+            this.selfClosing = selfClosing;
+        }
+
+        Optional<Element> child(String name) {
+            return children.stream().filter(c -> c.name.equals(name)).findFirst();
+        }
+
+        String text(String xml) {
+            return selfClosing ? "" : xml.substring(startTagEnd, endTagStart);
+        }
+    }
+}
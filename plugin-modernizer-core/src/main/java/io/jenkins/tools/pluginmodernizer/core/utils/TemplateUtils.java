@@ -9,6 +9,7 @@ import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +20,16 @@ public class TemplateUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(TemplateUtils.class);
 
+    /**
+     * Shared engine. Precompiled template engines are thread-safe and load template classes only once
+     */
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngine.createPrecompiled(ContentType.Html);
+
+    /**
+     * Name of the pull request title template by recipe name
+     */
+    private static final Map<String, String> TITLE_TEMPLATES = new ConcurrentHashMap<>();
+
     /**
      * Hidden constructor
      */
@@ -51,11 +62,9 @@ public class TemplateUtils {
      * @return The rendered pull request title
      */
     public static String renderPullRequestTitle(Plugin plugin, Recipe recipe) {
-        if (hasTitleTemplate(recipe)) {
-            String shortName = recipe.getName().replaceAll(Settings.RECIPE_FQDN_PREFIX + ".", "");
-            return renderTemplate("pr-title-%s.jte".formatted(shortName), Map.of("plugin", plugin, "recipe", recipe));
-        }
-        return renderTemplate("pr-title.jte", Map.of("plugin", plugin, "recipe", recipe));
+        return renderTemplate(
+                TITLE_TEMPLATES.computeIfAbsent(recipe.getName(), name -> titleTemplate(recipe)),
+                Map.of("plugin", plugin, "recipe", recipe));
     }
 
     /**
@@ -66,9 +75,8 @@ public class TemplateUtils {
      */
     private static String renderTemplate(String templateName, Map<String, Object> params) {
         try {
-            TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
             TemplateOutput output = new StringOutput();
-            templateEngine.render(templateName, params, output);
+            TEMPLATE_ENGINE.render(templateName, params, output);
             return output.toString().trim();
         } catch (Exception e) {
             LOG.error("Error rendering template {}", templateName, e);
@@ -77,13 +85,13 @@ public class TemplateUtils {
     }
 
     /**
-     * Check if a title template exists for one recipe
+     * Get the title template of one recipe, falling back to the default title template
      * @param recipe The recipe to check
-     * @return True if a title template exists
+     * @return The name of the title template
      */
-    private static boolean hasTitleTemplate(Recipe recipe) {
+    private static String titleTemplate(Recipe recipe) {
         String shortName = recipe.getName().replaceAll(Settings.RECIPE_FQDN_PREFIX + ".", "");
-        TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
-        return templateEngine.hasTemplate("pr-title-%s.jte".formatted(shortName));
+        String templateName = "pr-title-%s.jte".formatted(shortName);
+        return TEMPLATE_ENGINE.hasTemplate(templateName) ? templateName : "pr-title.jte";
     }
 }
@@ -0,0 +1,117 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Utility class to parse and query POM files.
+ * JAXP builders, XPath instances and compiled expressions are not thread-safe, so one instance of
+ * each is kept per thread and reused across plugins instead of being created for every call.
+ */
+public final class XmlUtils {
+
+    /**
+     * Secured document builder per thread
+     */
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+            ThreadLocal.withInitial(XmlUtils::newDocumentBuilder);
+
+    /**
+     * XPath instance per thread
+     */
+    private static final ThreadLocal<XPath> XPATH =
+            ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    /**
+     * Compiled XPath expressions per thread
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> EXPRESSIONS = ThreadLocal.withInitial(HashMap::new);
+
+    private XmlUtils() {
+        // Hide constructor
+    }
+
+    /**
+     * Parse an XML file
+     * @param path The path to the file
+     * @return The XML document
+     */
+    @SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "Path to the plugin POM file")
+    public static Document parse(Path path) throws IOException, SAXException {
+        try (InputStream in = Files.newInputStream(path)) {
+            InputSource source = new InputSource(in);
+            source.setSystemId(path.toUri().toString());
+            return parse(source);
+        }
+    }
+
+    /**
+     * Parse XML content already read
+     * @param xml The XML content
+     * @return The XML document
+     */
+    public static Document parse(String xml) throws IOException, SAXException {
+        return parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static Document parse(InputSource source) throws IOException, SAXException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        try {
+            Document document = builder.parse(source);
+            document.getDocumentElement().normalize();
+            return document;
+        } finally {
+            builder.reset();
+        }
+    }
+
+    /**
+     * Get a compiled XPath expression. Expressions are compiled once per thread
+     * @param expression The XPath expression
+     * @return The compiled expression
+     */
+    public static XPathExpression compile(String expression) {
+        return EXPRESSIONS.get().computeIfAbsent(expression, key -> {
+            try {
+                return XPATH.get().compile(key);
+            } catch (XPathExpressionException e) {
+                throw new ModernizerException("Invalid XPath expression: " + key, e);
+            }
+        });
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setXIncludeAware(false);
+            factory.setExpandEntityReferences(false);
+            // Ignore whitespace
+            factory.setIgnoringElementContentWhitespace(true);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new ModernizerException("Unable to create XML document builder", e);
+        }
+    }
+}
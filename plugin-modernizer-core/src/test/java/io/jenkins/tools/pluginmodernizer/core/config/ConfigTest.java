@@ -5,13 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheFormat;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -41,6 +44,16 @@ public class ConfigTest {
                 .withMavenHome(mavenHome)
                 .withDryRun(dryRun)
                 .withRemoveForks(true)
+                .withVerifyMatrix(true)
+                .withJfrFile(Path.of("run.jfr"))
+                .withTraceFile(Path.of("traces.jsonl"))
+                .withMetricsPort(9464)
+                .withMetricsBindAddress("0.0.0.0")
+                .withCacheFormats(Map.of("update-center", CacheFormat.GZIP_JSON))
+                .withCompressBuildLogs(true)
+                .withFatalSignaturesFile(Path.of("signatures.properties"))
+                .withCompileTimeout(Duration.ofMinutes(30))
+                .withVerifyTimeout(Duration.ofHours(2))
                 .build();
 
         assertEquals(version, config.getVersion());
@@ -52,6 +65,17 @@ public class ConfigTest {
         assertEquals(mavenHome.toAbsolutePath(), config.getMavenHome());
         assertTrue(config.isRemoveForks());
         assertTrue(config.isRemoveForks());
+        assertTrue(config.isVerifyMatrix());
+        assertEquals(Path.of("run.jfr"), config.getJfrFile());
+        assertEquals(Path.of("traces.jsonl"), config.getTraceFile());
+        assertEquals(9464, config.getMetricsPort());
+        assertEquals("0.0.0.0", config.getMetricsBindAddress());
+        assertEquals(Map.of("update-center", CacheFormat.GZIP_JSON), config.getCacheFormats());
+        assertTrue(config.isCompressBuildLogs());
+        assertEquals(Path.of("signatures.properties"), config.getFatalSignaturesFile());
+        assertEquals(Duration.ofMinutes(30), config.getCompileTimeout());
+        assertNull(config.getRewriteTimeout());
+        assertEquals(Duration.ofHours(2), config.getVerifyTimeout());
         assertTrue(config.isDryRun());
         assertEquals("https://api.github.com", config.getGithubApiUrl().toString());
     }
@@ -68,6 +92,17 @@ public class ConfigTest {
         assertEquals(Settings.DEFAULT_MAVEN_HOME, config.getMavenHome());
         assertFalse(config.isRemoveForks());
         assertFalse(config.isRemoveForks());
+        assertFalse(config.isVerifyMatrix());
+        assertNull(config.getJfrFile());
+        assertNull(config.getTraceFile());
+        assertNull(config.getMetricsPort());
+        assertNull(config.getMetricsBindAddress());
+        assertTrue(config.getCacheFormats().isEmpty());
+        assertFalse(config.isCompressBuildLogs());
+        assertNull(config.getFatalSignaturesFile());
+        assertNull(config.getCompileTimeout());
+        assertNull(config.getRewriteTimeout());
+        assertNull(config.getVerifyTimeout());
         assertFalse(config.isDryRun());
     }
 
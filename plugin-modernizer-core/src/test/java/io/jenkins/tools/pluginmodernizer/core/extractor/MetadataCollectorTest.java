@@ -8,7 +8,9 @@ import static org.openrewrite.groovy.Assertions.groovy;
 import static org.openrewrite.maven.Assertions.pomXml;
 
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
@@ -174,6 +176,27 @@ public class MetadataCollectorTest implements RewriteTest {
         assertEquals(0, jdkVersion.size());
     }
 
+    @Test
+    void testFlagsAreDispatchedByTagName() {
+        assertEquals(List.of(MetadataFlag.SCM_HTTPS), MetadataFlag.forTag("scm"));
+        assertEquals(List.of(MetadataFlag.MAVEN_REPOSITORIES_HTTPS), MetadataFlag.forTag("repositories"));
+        assertEquals(List.of(MetadataFlag.LICENSE_SET), MetadataFlag.forTag("licenses"));
+        assertEquals(List.of(MetadataFlag.DEVELOPER_SET), MetadataFlag.forTag("developers"));
+        assertTrue(MetadataFlag.forTag("project").isEmpty());
+
+        // A matching subtree under another tag name doesn't set the flag
+        MetadataXmlTag connection = new MetadataXmlTag();
+        connection.setName("connection");
+        connection.setValue(Optional.of("scm:git:https://github.com/jenkinsci/foo-plugin.git"));
+        MetadataXmlTag tag = new MetadataXmlTag();
+        tag.setName("project");
+        tag.setChildren(List.of(connection));
+        assertFalse(MetadataFlag.SCM_HTTPS.isApplicable(tag));
+        tag.setName("scm");
+        assertTrue(MetadataFlag.SCM_HTTPS.isApplicable(tag));
+        assertFalse(MetadataFlag.IS_API_PLUGIN.isApplicable(tag));
+    }
+
     @Test
     void testPluginWithJenkinsfileWithJdkInfo() {
         rewriteRun(
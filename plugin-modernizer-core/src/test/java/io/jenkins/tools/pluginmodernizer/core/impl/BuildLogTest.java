@@ -0,0 +1,53 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BuildLogTest {
+
+    @TempDir
+    private Path logsPath;
+
+    @Test
+    public void testWriteLines() throws Exception {
+        Path file = logsPath.resolve("logs").resolve("example-build.log");
+        try (BuildLog buildLog = BuildLog.open(file)) {
+            IntStream.range(0, 50_000).forEach(i -> buildLog.println("[INFO] line " + i));
+            buildLog.println(null);
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(50_000, lines.size());
+        assertEquals("[INFO] line 0", lines.get(0));
+        assertEquals("[INFO] line 49999", lines.get(49_999));
+    }
+
+    @Test
+    public void testAppendCompressedInvocations() throws Exception {
+        Path file = logsPath.resolve("example-build.log.gz");
+        try (BuildLog buildLog = BuildLog.open(file)) {
+            buildLog.println("mvn clean");
+        }
+        try (BuildLog buildLog = BuildLog.open(file)) {
+            buildLog.println("mvn verify");
+        }
+        // Lines written after close are dropped
+        BuildLog closed = BuildLog.open(file);
+        closed.close();
+        closed.println("ignored");
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(
+                    "mvn clean" + System.lineSeparator() + "mvn verify" + System.lineSeparator(),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -2,19 +2,32 @@ package io.jenkins.tools.pluginmodernizer.core.impl;
 
 import static java.time.Clock.systemUTC;
 import static java.time.temporal.ChronoUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -153,4 +166,248 @@ public class CacheManagerTest {
         cacheManager.remove(cacheManager.root(), cacheKey);
         assertFalse(Files.exists(fileToRemove));
     }
+
+    @Test
+    void testPutDoesNotLeaveTemporaryFiles() throws IOException {
+        String cacheKey = "testKey";
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        cacheManager.put(value);
+        cacheManager.put(value);
+        try (Stream<Path> files = Files.list(cachePath)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testGetCorruptedEntryReturnsNull() throws IOException {
+        String cacheKey = "testKey";
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        cacheManager.put(value);
+
+        // Simulate a truncated write from an older version
+        Files.writeString(cachePath.resolve(cacheKey), "{\"key\":\"test", StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertNull(cacheManager.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+    }
+
+    @Test
+    void testConcurrentPutAndGet() throws Exception {
+        String cacheKey = "testKey";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(executor.submit(() -> {
+                    cacheManager.put(new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath));
+                    assertNotNull(cacheManager.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMoveRelocatesEntry() {
+        Path sourcePath = tempDir.resolve("source");
+        CacheManager sourceManager = new CacheManager(sourcePath);
+        sourceManager.init();
+        TestCacheEntry value =
+                new TestCacheEntry(sourceManager, TestCacheEntry.class, "testKey", sourceManager.root());
+        sourceManager.put(value);
+
+        TestCacheEntry moved = sourceManager.move(cacheManager, Path.of("plugin"), "newKey", value);
+
+        assertFalse(Files.exists(sourcePath.resolve("testKey")));
+        assertTrue(Files.exists(cachePath.resolve("plugin").resolve("newKey")));
+        assertEquals("newKey", moved.getKey());
+        assertEquals(Path.of("plugin"), moved.getPath());
+        assertEquals(cacheManager, moved.getCacheManager());
+
+        TestCacheEntry reloaded = cacheManager.get(Path.of("plugin"), "newKey", TestCacheEntry.class);
+        assertNotNull(reloaded);
+        assertEquals("newKey", reloaded.getKey());
+        assertEquals(Path.of("plugin"), reloaded.getPath());
+    }
+
+    @Test
+    void testCopyKeepsSourceEntry() {
+        Path sourcePath = tempDir.resolve("source");
+        CacheManager sourceManager = new CacheManager(sourcePath);
+        sourceManager.init();
+        TestCacheEntry value =
+                new TestCacheEntry(sourceManager, TestCacheEntry.class, "testKey", sourceManager.root());
+        sourceManager.put(value);
+
+        TestCacheEntry copied = sourceManager.copy(cacheManager, Path.of("plugin"), "testKey", value);
+
+        assertTrue(Files.exists(sourcePath.resolve("testKey")));
+        assertTrue(Files.exists(cachePath.resolve("plugin").resolve("testKey")));
+        assertEquals(Path.of("plugin"), copied.getPath());
+    }
+
+    @Test
+    void testConcurrentCopiesInOppositeDirections() throws Exception {
+        CacheManager otherManager = new CacheManager(tempDir.resolve("other"));
+        otherManager.init();
+        TestCacheEntry first = new TestCacheEntry(cacheManager, TestCacheEntry.class, "first", cacheManager.root());
+        TestCacheEntry second = new TestCacheEntry(otherManager, TestCacheEntry.class, "second", otherManager.root());
+        cacheManager.put(first);
+        otherManager.put(second);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    first.copy(otherManager, otherManager.root(), "second");
+                }
+            });
+            Future<?> backward = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    second.copy(cacheManager, cacheManager.root(), "first");
+                }
+            });
+            forward.get(30, TimeUnit.SECONDS);
+            backward.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNotNull(cacheManager.get(cacheManager.root(), "first", TestCacheEntry.class));
+        assertNotNull(otherManager.get(otherManager.root(), "second", TestCacheEntry.class));
+    }
+
+    @Test
+    void testEntriesInConfiguredFormat() throws IOException {
+        CacheManager compressing =
+                cacheManager.withFormats(Map.of(CacheManager.UPDATE_CENTER_CACHE_KEY, CacheFormat.GZIP_JSON));
+        compressing.put(new TestCacheEntry(
+                compressing, TestCacheEntry.class, CacheManager.UPDATE_CENTER_CACHE_KEY, compressing.root()));
+
+        byte[] content = Files.readAllBytes(cachePath.resolve(CacheManager.UPDATE_CENTER_CACHE_KEY));
+        assertEquals(CacheFormat.GZIP_JSON, CacheFormat.detect(content));
+        assertEquals(CacheFormat.JSON, compressing.getFormat(CacheManager.PLUGIN_METADATA_CACHE_KEY));
+        // Derived cache managers keep the formats, and entries are read whatever their format
+        assertEquals(
+                CacheFormat.GZIP_JSON,
+                compressing.withLocation(cachePath).getFormat(CacheManager.UPDATE_CENTER_CACHE_KEY));
+        assertNotNull(
+                cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, TestCacheEntry.class));
+    }
+
+    @Test
+    void testEntriesArePlainJsonByDefault() throws IOException {
+        for (String key : List.of(CacheManager.PLUGIN_METADATA_CACHE_KEY, CacheManager.UPDATE_CENTER_CACHE_KEY)) {
+            cacheManager.put(new TestCacheEntry(cacheManager, TestCacheEntry.class, key, cacheManager.root()));
+
+            String content = Files.readString(cachePath.resolve(key));
+            assertTrue(content.startsWith("{"));
+            assertEquals(CacheFormat.JSON, cacheManager.getFormat(key));
+        }
+    }
+
+    @Test
+    void testEntriesInUnsupportedFormatAreMisses() throws IOException {
+        Files.write(cachePath.resolve("newer"), new byte[] {'P', 'M', 'C', 2, 0, '{', '}'});
+        Files.write(cachePath.resolve("unknown"), new byte[] {1, 2, 3, 4, 5, 6});
+
+        assertNull(cacheManager.get(cacheManager.root(), "newer", TestCacheEntry.class));
+        assertNull(cacheManager.get(cacheManager.root(), "unknown", TestCacheEntry.class));
+        assertThrows(
+                CacheFormat.UnsupportedFormatException.class,
+                () -> CacheFormat.detect(new byte[] {'P', 'M', 'C', 1, 42}));
+        assertEquals(CacheFormat.JSON, CacheFormat.detect("{\"key\"".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsedBuildOutputsFirst() throws IOException {
+        Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        CacheManager manager = new CacheManager(cachePath, clock, true);
+        for (String plugin : List.of("old", "recent", "current")) {
+            Path target = cachePath.resolve(plugin).resolve("sources").resolve("target");
+            Files.createDirectories(target);
+            Files.write(cachePath.resolve(plugin).resolve("sources").resolve("pom.xml"), new byte[100]);
+            Files.write(target.resolve("plugin.hpi"), new byte[1000]);
+        }
+        new CacheManager(cachePath, Clock.offset(clock, Duration.ofHours(-2)), true).touch(Path.of("old"));
+        new CacheManager(cachePath, Clock.offset(clock, Duration.ofHours(-1)), true).touch(Path.of("recent"));
+        manager.touch(Path.of("current"));
+
+        // Dry-run doesn't remove anything
+        CacheManager.Eviction eviction = manager.evict(2500, Set.of(), true);
+        assertEquals(List.of(cachePath.resolve("old").resolve("sources").resolve("target")), eviction.removed());
+        assertEquals(2300, eviction.size());
+        assertTrue(Files.exists(cachePath.resolve("old").resolve("sources").resolve("target")));
+
+        // Build outputs are evicted before checkouts, kept plugins are never evicted
+        eviction = manager.evict(1300, Set.of("current"), false);
+        assertEquals(
+                List.of(
+                        cachePath.resolve("old").resolve("sources").resolve("target"),
+                        cachePath.resolve("recent").resolve("sources").resolve("target")),
+                eviction.removed());
+        assertEquals(1300, eviction.size());
+        assertTrue(Files.exists(cachePath.resolve("old").resolve("sources").resolve("pom.xml")));
+        assertTrue(Files.exists(cachePath.resolve("current").resolve("sources").resolve("target")));
+
+        // Whole checkouts are evicted when build outputs are not enough
+        eviction = manager.evict(0, Set.of("current"), false);
+        assertEquals(
+                List.of(cachePath.resolve("old").resolve("sources"), cachePath.resolve("recent").resolve("sources")),
+                eviction.removed());
+        // The kept plugin is never evicted, even if the cache stays above budget
+        assertEquals(1100, eviction.size());
+    }
+
+    @Test
+    void testStatistics() throws IOException {
+        Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        CacheStatistics statistics = new CacheStatistics();
+        CacheManager manager = new CacheManager(cachePath, clock, true, statistics);
+        TestCacheEntry value = new TestCacheEntry(manager, TestCacheEntry.class, "key", manager.root());
+
+        assertNull(manager.get(manager.root(), "key", TestCacheEntry.class));
+        manager.put(value);
+        assertNotNull(manager.get(manager.root(), "key", TestCacheEntry.class));
+        assertNotNull(manager.get(manager.root(), "key", TestCacheEntry.class));
+        CacheManager later = new CacheManager(cachePath, Clock.offset(clock, Duration.ofHours(2)), true, statistics);
+        assertNull(later.get(later.root(), "key", TestCacheEntry.class));
+
+        CacheStatistics.KeyStatistics keyStatistics = statistics.getAll().get("key");
+        long size = Files.size(cachePath.resolve("key"));
+        assertEquals(2, keyStatistics.getHits());
+        assertEquals(2, keyStatistics.getMisses());
+        assertEquals(1, keyStatistics.getExpirations());
+        assertEquals(2 * size, keyStatistics.getBytesRead());
+        assertEquals(size, keyStatistics.getBytesWritten());
+        assertEquals(2, keyStatistics.getDeserialization().getCount());
+        assertEquals(0.5, keyStatistics.getHitRatio());
+        assertTrue(keyStatistics.summary().startsWith("key: 2 hits, 2 misses (1 expired)"));
+    }
+
+    @Test
+    void testDerivedCacheManagerSharesStatistics() {
+        CacheStatistics statistics = new CacheStatistics();
+        CacheManager manager = new CacheManager(cachePath, statistics);
+        CacheManager pluginManager = manager.withLocation(tempDir.resolve("plugin").resolve("target"));
+        pluginManager.put(new TestCacheEntry(pluginManager, TestCacheEntry.class, "key", pluginManager.root()));
+
+        assertTrue(Files.exists(tempDir.resolve("plugin").resolve("target").resolve("key")));
+        assertEquals(1, statistics.getAll().size());
+        assertTrue(statistics.getAll().get("key").getBytesWritten() > 0);
+    }
+
+    @Test
+    void testLatencyHistogramPercentiles() {
+        CacheStatistics.LatencyHistogram histogram = new CacheStatistics.LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i <= 95 ? 1000 : 1_000_000);
+        }
+        assertEquals(1024, histogram.percentile(0.5));
+        assertEquals(1024, histogram.percentile(0.95));
+        assertEquals(1_000_000, histogram.percentile(0.99));
+        assertEquals(1_000_000, histogram.getMax());
+    }
 }
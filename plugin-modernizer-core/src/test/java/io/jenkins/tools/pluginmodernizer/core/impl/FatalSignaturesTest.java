@@ -0,0 +1,68 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FatalSignaturesTest {
+
+    @TempDir
+    private Path catalogPath;
+
+    @Test
+    public void testDefaultCatalog() {
+        FatalSignatures signatures = FatalSignatures.load(null);
+        assertEquals(
+                "unresolvable-parent",
+                signatures
+                        .match("[ERROR]   Non-resolvable parent POM for io.jenkins.plugins:example:1.0-SNAPSHOT")
+                        .id());
+        assertEquals(
+                "http-repository-blocked",
+                signatures
+                        .match("[ERROR] Failed to execute goal on project example: Could not resolve dependencies: "
+                                + "Blocked mirror for repositories: [repo.jenkins-ci.org (http://repo.jenkins-ci.org)]")
+                        .id());
+        assertEquals(
+                "unsupported-class-version",
+                signatures
+                        .match("\u001B[1;31m[ERROR]\u001B[m Failed to execute goal spotbugs: "
+                                + "Unsupported class file major version 65")
+                        .id());
+        assertNull(signatures.match("[WARNING] Unsupported class file major version 65"));
+        assertNull(signatures.match("[INFO] BUILD SUCCESS"));
+        assertNull(signatures.match(null));
+    }
+
+    @Test
+    public void testOverrideCatalog() throws Exception {
+        Path file = catalogPath.resolve("signatures.properties");
+        Files.writeString(
+                file,
+                """
+                unresolvable-parent.pattern =
+                no-space-left.pattern = No space left on device
+                no-space-left.description = The disk is full
+                """);
+        FatalSignatures signatures = FatalSignatures.load(file);
+        assertNull(signatures.match("[ERROR] Non-resolvable parent POM"));
+        FatalSignatures.Signature signature = signatures.match("java.io.IOException: No space left on device");
+        assertEquals("no-space-left", signature.id());
+        assertEquals("The disk is full", signature.description());
+        assertEquals(3, signatures.getSignatures().size());
+    }
+
+    @Test
+    public void testInvalidPattern() {
+        Properties properties = new Properties();
+        properties.setProperty("broken.pattern", "[ERROR");
+        assertThrows(ModernizerException.class, () -> FatalSignatures.of(properties));
+    }
+}
@@ -0,0 +1,134 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.scheduler.BuildCost;
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.shared.invoker.DefaultInvocationRequest;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+public class MavenProcessTest {
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void testAbortTerminatesProcessTree() throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        MavenProcess process = new MavenProcess(request);
+        String tag = request.getArgs().get(0);
+        assertTrue(tag.startsWith("-D" + MavenProcess.ID_PROPERTY + "="));
+        assertNull(process.getAbort());
+
+        // A shell tagged like the Maven command line, with a child process
+        Process shell = new ProcessBuilder("sh", "-c", "sleep 60; echo " + tag).start();
+        try {
+            TimeUnit.MILLISECONDS.sleep(200);
+            ProcessHandle child = shell.toHandle().children().findFirst().orElseThrow();
+
+            assertTrue(process.abort("unresolvable-parent", "The parent POM cannot be resolved"));
+            assertFalse(process.abort("timeout", "Timeout"));
+            assertEquals("unresolvable-parent", process.getAbort().reason());
+            assertTrue(shell.waitFor(15, TimeUnit.SECONDS));
+            child.onExit().get(15, TimeUnit.SECONDS);
+        } finally {
+            shell.destroyForcibly();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void testAbortAfterTimeout() throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        MavenProcess process = new MavenProcess(request);
+        Process shell = new ProcessBuilder("sh", "-c", "sleep 60; echo " + request.getArgs().get(0)).start();
+        try {
+            process.abortAfter(Duration.ofMillis(500));
+            assertTrue(shell.waitFor(15, TimeUnit.SECONDS));
+            assertEquals(MavenProcess.TIMEOUT, process.getAbort().reason());
+            assertEquals("Maven did not complete within 0.5s", process.getAbort().description());
+        } finally {
+            shell.destroyForcibly();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void testAbortBeforeMavenStarted() throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        MavenProcess process = new MavenProcess(request);
+        assertTrue(process.abort(MavenProcess.TIMEOUT, "Maven did not complete within 0s"));
+
+        // Maven starts after the abort and is terminated once sampled
+        Process shell = new ProcessBuilder("sh", "-c", "sleep 60; echo " + request.getArgs().get(0)).start();
+        try {
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertTrue(shell.isAlive());
+            process.sample();
+            assertTrue(shell.waitFor(15, TimeUnit.SECONDS));
+        } finally {
+            shell.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testCancelledTimeout() throws Exception {
+        MavenProcess process = new MavenProcess(new DefaultInvocationRequest());
+        Future<?> timeout = process.abortAfter(Duration.ofMillis(200));
+        timeout.cancel(false);
+        TimeUnit.MILLISECONDS.sleep(400);
+        assertNull(process.getAbort());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void testSampleCost() throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        MavenProcess process = new MavenProcess(request);
+        assertNull(process.getCost(Duration.ofSeconds(1)));
+        // Busy shell tagged like the Maven command line
+        String script = "while true; do :; done; echo " + request.getArgs().get(0);
+        Process shell = new ProcessBuilder("sh", "-c", script).start();
+        long start = System.nanoTime();
+        try {
+            TimeUnit.MILLISECONDS.sleep(500);
+            process.sample();
+        } finally {
+            shell.destroyForcibly();
+        }
+        BuildCost cost = process.getCost(Duration.ofNanos(System.nanoTime() - start));
+        assertNotNull(cost);
+        assertTrue(cost.cpus() > 0.1, cost.summary());
+        assertTrue(cost.memoryBytes() > 0, cost.summary());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void testSampleCostOfExitedChildren() throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        MavenProcess process = new MavenProcess(request);
+        // Busy child exiting after 2 s, like a short-lived fork, under a shell tagged like the Maven command line
+        String script = "timeout 2 sh -c 'while true; do :; done'; sleep 60; echo " + request.getArgs().get(0);
+        Process shell = new ProcessBuilder("sh", "-c", script).start();
+        try {
+            TimeUnit.MILLISECONDS.sleep(500);
+            process.sample();
+            // CPU time after the sample is accounted when the child exits
+            TimeUnit.MILLISECONDS.sleep(2500);
+        } finally {
+            shell.destroyForcibly();
+        }
+        BuildCost cost = process.getCost(Duration.ofSeconds(1));
+        assertNotNull(cost);
+        // About 2 s, counted once
+        assertTrue(cost.cpus() > 1.5 && cost.cpus() < 3, cost.summary());
+    }
+}
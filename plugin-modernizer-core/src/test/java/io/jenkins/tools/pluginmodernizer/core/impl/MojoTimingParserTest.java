@@ -0,0 +1,83 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class MojoTimingParserTest {
+
+    @Test
+    public void testTimeMojosFromOutput() {
+        AtomicLong now = new AtomicLong();
+        MojoTimingParser parser = new MojoTimingParser(now::get);
+        parser.accept("[INFO] Scanning for projects...");
+        parser.accept("[INFO] -----------------< io.jenkins.plugins:example >-----------------");
+        parser.accept("[INFO] Building Example 1.0-SNAPSHOT");
+        now.set(Duration.ofSeconds(1).toNanos());
+        parser.accept("[INFO] --- clean:3.4.0:clean (default-clean) @ example ---");
+        now.set(Duration.ofSeconds(2).toNanos());
+        parser.accept("[INFO] \u001B[1m--- \u001B[0;32mcompiler:3.13.0:compile\u001B[m "
+                + "\u001B[1m(default-compile)\u001B[m @ \u001B[36mexample\u001B[0;1m ---\u001B[m");
+        parser.accept("[INFO] Compiling 12 source files with javac [debug release 17] to target/classes");
+        now.set(Duration.ofSeconds(32).toNanos());
+        parser.accept("[INFO] --- org.jenkins-ci.tools:maven-hpi-plugin:3.61:test-runtime @ example ---");
+        now.set(Duration.ofSeconds(35).toNanos());
+        parser.accept("[INFO] BUILD SUCCESS");
+        now.set(Duration.ofSeconds(40).toNanos());
+
+        List<MojoTiming> timings = parser.finish();
+        assertEquals(3, timings.size());
+        assertEquals(
+                new MojoTiming("clean:3.4.0:clean", "default-clean", "example", Duration.ofSeconds(1)), timings.get(0));
+        assertEquals(
+                new MojoTiming("compiler:3.13.0:compile", "default-compile", "example", Duration.ofSeconds(30)),
+                timings.get(1));
+        assertEquals("", timings.get(2).execution());
+        assertEquals(Duration.ofSeconds(3), timings.get(2).duration());
+        assertEquals("compiler:compile", timings.get(1).goal());
+        assertEquals("maven-hpi-plugin:test-runtime", timings.get(2).goal());
+    }
+
+    @Test
+    public void testPackagingOutputIsNotBoundary() {
+        AtomicLong now = new AtomicLong();
+        MojoTimingParser parser = new MojoTimingParser(now::get);
+        parser.accept("[INFO] --- jar:3.4.1:jar (default-jar) @ example-api ---");
+        now.set(Duration.ofSeconds(1).toNanos());
+        parser.accept("[INFO] Building jar: /work/example/example-api/target/example-api.jar");
+        now.set(Duration.ofSeconds(4).toNanos());
+        parser.accept("[INFO] --------------------< io.jenkins.plugins:example >--------------------");
+        parser.accept("[INFO] Building Example Plugin 1.0-SNAPSHOT                               [2/2]");
+        parser.accept("[INFO] --- hpi:3.61:hpi (default-hpi) @ example ---");
+        now.set(Duration.ofSeconds(6).toNanos());
+        parser.accept("[INFO] Building Example Plugin 1.0-SNAPSHOT                               [2/2]");
+        now.set(Duration.ofSeconds(10).toNanos());
+
+        List<MojoTiming> timings = parser.finish();
+        assertEquals(2, timings.size());
+        assertEquals(Duration.ofSeconds(4), timings.get(0).duration());
+        assertEquals(Duration.ofSeconds(2), timings.get(1).duration());
+    }
+
+    @Test
+    public void testFinishEndsRunningMojo() {
+        AtomicLong now = new AtomicLong();
+        MojoTimingParser parser = new MojoTimingParser(now::get);
+        parser.accept("[INFO] --- surefire:3.5.2:test (default-test) @ example ---");
+        now.set(Duration.ofSeconds(5).toNanos());
+        assertEquals(Duration.ofSeconds(5), parser.finish().get(0).duration());
+    }
+
+    @Test
+    public void testNoMojo() {
+        MojoTimingParser parser = new MojoTimingParser();
+        parser.accept(null);
+        parser.accept("[ERROR] The goal you specified requires a project to execute");
+        assertTrue(parser.finish().isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class OutputExcerptTest {
+
+    @Test
+    public void testShortOutputIsKept() {
+        OutputExcerpt excerpt = new OutputExcerpt(5, 5);
+        excerpt.accept("[INFO] Scanning for projects...");
+        excerpt.accept("[ERROR] Non-resolvable parent POM");
+        excerpt.accept(null);
+        assertEquals(List.of("[INFO] Scanning for projects...", "[ERROR] Non-resolvable parent POM"), excerpt.lines());
+    }
+
+    @Test
+    public void testFirstErrorsAndLastLines() {
+        OutputExcerpt excerpt = new OutputExcerpt(3, 2);
+        excerpt.accept("[INFO] Compiling 12 source files");
+        excerpt.accept("\u001B[1;31m[ERROR]\u001B[m Foo.java:[3,8] cannot find symbol");
+        excerpt.accept("[ERROR] Foo.java:[4,8] cannot find symbol");
+        excerpt.accept("[ERROR] Foo.java:[5,8] cannot find symbol");
+        IntStream.range(0, 1000).forEach(i -> excerpt.accept("[INFO] line " + i));
+        excerpt.accept("[INFO] BUILD FAILURE");
+        excerpt.accept("[ERROR] -> [Help 1]");
+
+        assertEquals(
+                List.of(
+                        OutputExcerpt.OMITTED,
+                        "\u001B[1;31m[ERROR]\u001B[m Foo.java:[3,8] cannot find symbol",
+                        "[ERROR] Foo.java:[4,8] cannot find symbol",
+                        OutputExcerpt.OMITTED,
+                        "[INFO] line 999",
+                        "[INFO] BUILD FAILURE",
+                        "[ERROR] -> [Help 1]"),
+                excerpt.lines());
+    }
+
+    @Test
+    public void testErrorsInLastLinesAreNotRepeated() {
+        OutputExcerpt excerpt = new OutputExcerpt(2, 5);
+        excerpt.accept("[INFO] first");
+        excerpt.accept("[INFO] second");
+        excerpt.accept("[ERROR] failure");
+        assertEquals(List.of(OutputExcerpt.OMITTED, "[INFO] second", "[ERROR] failure"), excerpt.lines());
+        assertTrue(new OutputExcerpt(2, 2).lines().isEmpty());
+    }
+
+    @Test
+    public void testOutputAndErrorFedConcurrently() throws Exception {
+        OutputExcerpt excerpt = new OutputExcerpt(1000, 5);
+        Thread error = new Thread(() -> IntStream.range(0, 500).forEach(i -> excerpt.accept("[ERROR] stderr " + i)));
+        error.start();
+        IntStream.range(0, 500).forEach(i -> excerpt.accept("[INFO] stdout " + i));
+        error.join();
+
+        List<String> lines = excerpt.lines();
+        assertEquals(1000, lines.size());
+        assertEquals(500, lines.stream().filter(line -> line.startsWith("[ERROR] stderr ")).count());
+        assertTrue(Stream.of("[ERROR] stderr 499", "[INFO] stdout 499").allMatch(lines::contains));
+    }
+}
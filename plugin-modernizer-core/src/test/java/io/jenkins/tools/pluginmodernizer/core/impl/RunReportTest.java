@@ -0,0 +1,140 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonObject;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.MojoTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.VerificationResult;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RunReportTest {
+
+    @TempDir
+    private Path reportPath;
+
+    @Test
+    public void testStageSuccess() {
+        RunReport report = new RunReport();
+        Plugin plugin = Plugin.build("example");
+        assertEquals("ok", report.time(plugin, "fetch", () -> "ok"));
+        report.time(plugin, "compile", () -> plugin.addError("Build failed"));
+        assertThrows(IllegalStateException.class, () -> report.time(plugin, "verify", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        List<RunReport.StageTiming> timings = report.getTimings();
+        assertEquals(
+                List.of("fetch", "compile", "verify"),
+                timings.stream().map(RunReport.StageTiming::stage).toList());
+        assertTrue(timings.get(0).success());
+        assertFalse(timings.get(1).success());
+        assertFalse(timings.get(2).success());
+    }
+
+    @Test
+    public void testStageOutcomeFromResult() {
+        RunReport report = new RunReport();
+        Plugin plugin = Plugin.build("example");
+        // Verification clearing its own errors before returning a failed result
+        VerificationResult failed = report.time(
+                plugin,
+                "verify",
+                () -> {
+                    plugin.addError("Build failed");
+                    plugin.withoutErrors();
+                    return new VerificationResult(JDK.JAVA_17, false, Duration.ofSeconds(1));
+                },
+                VerificationResult::success);
+        report.time(
+                plugin,
+                "verify",
+                () -> new VerificationResult(JDK.JAVA_21, true, Duration.ofSeconds(1)),
+                VerificationResult::success);
+
+        assertFalse(failed.success());
+        List<RunReport.StageTiming> timings = report.getTimings();
+        assertFalse(timings.get(0).success());
+        assertTrue(timings.get(1).success());
+        assertEquals(2, report.summarize().get("verify").count());
+    }
+
+    @Test
+    public void testPercentiles() {
+        RunReport report = new RunReport();
+        LongStream.rangeClosed(1, 100)
+                .forEach(i -> report.record("plugin-" + i, "verify", Duration.ofSeconds(i), true));
+        report.record("plugin-1", "fetch", Duration.ofMillis(500), true);
+
+        RunReport.StageSummary verify = report.summarize().get("verify");
+        assertEquals(100, verify.count());
+        assertEquals(50_000, verify.p50Millis());
+        assertEquals(95_000, verify.p95Millis());
+        assertEquals(100_000, verify.maxMillis());
+        assertEquals(5_050_000, verify.totalMillis());
+        assertEquals("verify: 100 runs, total 5050 s, p50 50 s, p95 95 s, max 100 s", verify.summary());
+        assertEquals(List.of("verify", "fetch"), List.copyOf(report.summarize().keySet()));
+    }
+
+    @Test
+    public void testWriteReport() throws Exception {
+        RunReport report = new RunReport();
+        report.record("example", "fetch", Duration.ofMillis(1200), true);
+        report.record("example", "mvn verify", Duration.ofMillis(65000), false);
+
+        Path csv = reportPath.resolve("report.csv");
+        report.writeCsv(csv);
+        assertEquals(
+                List.of(
+                        "plugin,stage,duration_ms,success",
+                        "example,fetch,1200,true",
+                        "example,mvn verify,65000,false"),
+                Files.readAllLines(csv));
+
+        Path json = reportPath.resolve("report.json");
+        report.writeJson(json);
+        JsonObject content = JsonUtils.fromJson(json, JsonObject.class);
+        assertEquals(2, content.getAsJsonArray("stages").size());
+        assertEquals(
+                65000,
+                content.getAsJsonArray("stages")
+                        .get(1)
+                        .getAsJsonObject()
+                        .get("p95Millis")
+                        .getAsLong());
+        assertEquals(2, content.getAsJsonArray("timings").size());
+    }
+
+    @Test
+    public void testSummarizeMojos() {
+        RunReport report = new RunReport();
+        report.recordMojos(
+                "first",
+                List.of(
+                        new MojoTiming("compiler:3.13.0:compile", "default-compile", "first", Duration.ofSeconds(20)),
+                        new MojoTiming("surefire:3.5.2:test", "default-test", "first", Duration.ofSeconds(90))));
+        report.recordMojos(
+                "second",
+                List.of(new MojoTiming(
+                        "compiler:3.11.0:compile", "default-compile", "second", Duration.ofSeconds(30))));
+
+        List<RunReport.StageSummary> mojos = report.summarizeMojos();
+        assertEquals(
+                List.of("surefire:test", "compiler:compile"),
+                mojos.stream().map(RunReport.StageSummary::stage).toList());
+        assertEquals(2, mojos.get(1).count());
+        assertEquals(50_000, mojos.get(1).totalMillis());
+        assertEquals("second", report.getMojoExecutions().get(2).plugin());
+    }
+}
@@ -0,0 +1,58 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.RunReport;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightRecordingTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testEventsAreWrittenToRecording() throws Exception {
+        Path file = tempDir.resolve("recordings").resolve("run.jfr");
+        Plugin plugin = Plugin.build("example");
+        try (FlightRecording recording = FlightRecording.start(file)) {
+            assertTrue(recording.isRecording());
+            new RunReport().time(plugin, "compile", () -> {});
+            MavenInvocationEvent event = new MavenInvocationEvent("example", "clean verify", 21);
+            event.begin();
+            event.setExitCode(1);
+            event.commit();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent stage = find(events, "io.jenkins.tools.pluginmodernizer.Stage");
+        assertEquals("example", stage.getString("plugin"));
+        assertEquals("compile", stage.getString("stage"));
+        assertTrue(stage.getBoolean("success"));
+        RecordedEvent maven = find(events, "io.jenkins.tools.pluginmodernizer.MavenInvocation");
+        assertEquals("clean verify", maven.getString("goals"));
+        assertEquals(21, maven.getInt("jdk"));
+        assertEquals(1, maven.getInt("exitCode"));
+    }
+
+    @Test
+    public void testNoRecordingWithoutFile() {
+        try (FlightRecording recording = FlightRecording.start(null)) {
+            assertFalse(recording.isRecording());
+        }
+    }
+
+    private RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,101 @@
+package io.jenkins.tools.pluginmodernizer.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testScrapeInPrometheusTextFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter skipped = registry.counter("plugins_skipped_total", "Plugins skipped", "reason");
+        skipped.inc("deprecated");
+        skipped.inc("archived");
+        registry.counter("plugins_skipped_total", "Plugins skipped", "reason").inc("archived");
+        MetricsRegistry.Gauge inProgress = registry.gauge("maven_invocations_in_progress", "Maven processes");
+        inProgress.inc();
+        inProgress.inc();
+        inProgress.dec();
+        registry.gauge("cache_hit_ratio", "Cache \"hit\" ratio", () -> 0.75);
+
+        assertEquals(
+                """
+                # HELP plugin_modernizer_cache_hit_ratio Cache "hit" ratio
+                # TYPE plugin_modernizer_cache_hit_ratio gauge
+                plugin_modernizer_cache_hit_ratio 0.75
+                # HELP plugin_modernizer_maven_invocations_in_progress Maven processes
+                # TYPE plugin_modernizer_maven_invocations_in_progress gauge
+                plugin_modernizer_maven_invocations_in_progress 1
+                # HELP plugin_modernizer_plugins_skipped_total Plugins skipped
+                # TYPE plugin_modernizer_plugins_skipped_total counter
+                plugin_modernizer_plugins_skipped_total{reason="archived"} 2
+                plugin_modernizer_plugins_skipped_total{reason="deprecated"} 1
+                """,
+                registry.scrape());
+    }
+
+    @Test
+    public void testMetricsAreSharedByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("plugins_processed_total", "Plugins processed");
+        assertSame(counter, registry.counter("plugins_processed_total", "Plugins processed"));
+        assertThrows(
+                IllegalArgumentException.class, () -> registry.gauge("plugins_processed_total", "Plugins processed"));
+        assertThrows(IllegalArgumentException.class, () -> counter.inc("unexpected"));
+        assertThrows(IllegalArgumentException.class, () -> counter.add(-1));
+    }
+
+    @Test
+    public void testLabelValuesAreEscaped() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.gauge("example", "Example", "label").set(1.5, "a\"b\\c\nd");
+        assertTrue(registry.scrape().contains("plugin_modernizer_example{label=\"a\\\"b\\\\c\\nd\"} 1.5\n"));
+    }
+
+    @Test
+    public void testServeMetrics() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("plugins_processed_total", "Plugins processed").inc();
+        try (MetricsServer server = MetricsServer.start(registry, 0, null);
+                HttpClient client = HttpClient.newHttpClient()) {
+            // Only reachable from the host by default
+            assertTrue(server.getAddress().isLoopbackAddress());
+            String host = InetAddress.getLoopbackAddress().getHostAddress();
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://" + host + ":" + server.getPort() + MetricsServer.PATH))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers()
+                    .firstValue("Content-Type")
+                    .orElseThrow()
+                    .startsWith("text/plain; version=0.0.4"));
+            assertTrue(response.body().contains("plugin_modernizer_plugins_processed_total 1\n"));
+        }
+    }
+
+    @Test
+    public void testServeMetricsOnBindAddress() {
+        try (MetricsServer server = MetricsServer.start(new MetricsRegistry(), 0, "0.0.0.0")) {
+            assertTrue(server.getAddress().isAnyLocalAddress());
+        }
+    }
+
+    @Test
+    public void testNoServerWithoutPort() {
+        try (MetricsServer server = MetricsServer.start(new MetricsRegistry(), null, null)) {
+            assertEquals(-1, server.getPort());
+            assertNull(server.getAddress());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BuildWorkspaceTest {
+
+    @TempDir
+    private Path cachePath;
+
+    private Plugin plugin;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Config config = mock(Config.class);
+        doReturn(cachePath).when(config).getCachePath();
+        plugin = Plugin.build("example").withConfig(config);
+        Path sources = plugin.getLocalRepository();
+        Files.createDirectories(sources.resolve("src").resolve("main"));
+        Files.createDirectories(sources.resolve("target"));
+        Files.writeString(sources.resolve("pom.xml"), "<project/>");
+        Files.writeString(sources.resolve("src").resolve("main").resolve("Foo.java"), "class Foo {}");
+        Files.writeString(sources.resolve("target").resolve("plugin-metadata.json"), "{}");
+    }
+
+    @Test
+    public void testIsolatedWorkspacesHaveTheirOwnTargetDirectory() throws Exception {
+        BuildWorkspace first = BuildWorkspace.isolate(plugin, "first");
+        BuildWorkspace second = BuildWorkspace.isolate(plugin, "second");
+
+        assertTrue(first.isIsolated());
+        assertEquals(cachePath.resolve("example").resolve("workspaces").resolve("first"), first.getDirectory());
+        assertEquals("<project/>", Files.readString(first.getPom()));
+        assertTrue(Files.isRegularFile(first.getDirectory().resolve("src").resolve("main").resolve("Foo.java")));
+        // Build outputs of the checkout are not copied
+        assertFalse(Files.exists(first.getTargetDirectory()));
+
+        Files.createDirectories(first.getTargetDirectory());
+        assertFalse(Files.exists(second.getTargetDirectory()));
+
+        first.discard();
+        assertFalse(Files.exists(first.getDirectory()));
+        assertTrue(Files.exists(second.getDirectory()));
+    }
+
+    @Test
+    public void testBuildInWorkspaceLeavesCheckoutUntouched() throws Exception {
+        Path sources = plugin.getLocalRepository();
+        BuildWorkspace workspace = BuildWorkspace.isolate(plugin, "verify-jdk-21");
+
+        // What a build does in its workspace
+        Files.createDirectories(workspace.getTargetDirectory().resolve("classes"));
+        Files.writeString(workspace.getTargetDirectory().resolve("plugin-metadata.json"), "{\"jdk\":21}");
+        Files.writeString(workspace.getPom(), "<project><build/></project>");
+        Files.writeString(workspace.getDirectory().resolve("src").resolve("main").resolve("Foo.java"), "class Bar {}");
+
+        assertEquals(BuildWorkspace.main(plugin).getDirectory(), plugin.getWorkspace().getDirectory());
+        assertEquals("<project/>", Files.readString(sources.resolve("pom.xml")));
+        assertEquals("class Foo {}", Files.readString(sources.resolve("src").resolve("main").resolve("Foo.java")));
+        assertEquals("{}", Files.readString(sources.resolve("target").resolve("plugin-metadata.json")));
+        assertFalse(Files.exists(sources.resolve("target").resolve("classes")));
+    }
+
+    @Test
+    public void testIsolateReplacesPreviousWorkspace() throws Exception {
+        BuildWorkspace workspace = BuildWorkspace.isolate(plugin, "verify");
+        Files.writeString(workspace.getDirectory().resolve("stale.txt"), "stale");
+        workspace = BuildWorkspace.isolate(plugin, "verify");
+        assertFalse(Files.exists(workspace.getDirectory().resolve("stale.txt")));
+    }
+
+    @Test
+    public void testMainWorkspaceIsNeverDiscarded() {
+        BuildWorkspace workspace = BuildWorkspace.main(plugin);
+        workspace.discard();
+        assertTrue(Files.exists(workspace.getPom()));
+    }
+}
@@ -137,6 +137,32 @@ public class PluginTest {
         verifyNoMoreInteractions(mavenInvoker);
     }
 
+    @Test
+    public void testVerifyWithJdkInWorkspace() {
+        Plugin plugin = Plugin.build("example");
+        plugin.withConfig(config);
+        doReturn(Path.of("my-cache")).when(config).getCachePath();
+        BuildWorkspace workspace = plugin.getWorkspace();
+        doReturn(false).when(mavenInvoker).verify(plugin, JDK.JAVA_11, workspace);
+        VerificationResult result = plugin.verify(mavenInvoker, JDK.JAVA_11, workspace);
+        assertEquals(JDK.JAVA_11, result.jdk());
+        assertFalse(result.success());
+        assertFalse(plugin.hasErrors());
+        verify(mavenInvoker).verify(plugin, JDK.JAVA_11, workspace);
+        verifyNoMoreInteractions(mavenInvoker);
+    }
+
+    @Test
+    public void testDefaultWorkspaceIsCheckout() {
+        Plugin plugin = Plugin.build("example");
+        plugin.withConfig(config);
+        doReturn(Path.of("my-cache")).when(config).getCachePath();
+        BuildWorkspace workspace = plugin.getWorkspace();
+        assertFalse(workspace.isIsolated());
+        assertEquals(plugin.getLocalRepository(), workspace.getDirectory());
+        assertEquals(plugin.getLocalRepository().resolve("target"), workspace.getTargetDirectory());
+    }
+
     @Test
     public void shouldNotVerifyInFetchMetadataMode() {
         Plugin plugin = Plugin.build("example");
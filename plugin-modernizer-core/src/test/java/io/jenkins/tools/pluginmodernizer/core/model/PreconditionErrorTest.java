@@ -0,0 +1,73 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.PomEditor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PreconditionErrorTest {
+
+    @TempDir
+    private Path repository;
+
+    private Set<PreconditionError> applicableErrors(Path pom) {
+        return PreconditionError.check(new PomEditor(pom.toString()));
+    }
+
+    @Test
+    public void testRemediateAllErrorsAtOnce() throws Exception {
+        Path pom = repository.resolve("pom.xml");
+        Files.copy(Path.of("src/test/resources/test-pom.xml"), pom);
+        Set<PreconditionError> errors = applicableErrors(pom);
+        assertEquals(
+                EnumSet.of(
+                        PreconditionError.MAVEN_REPOSITORIES_HTTP,
+                        PreconditionError.OLDER_JAVA_VERSION,
+                        PreconditionError.MISSING_RELATIVE_PATH),
+                errors);
+
+        Plugin plugin = mock(Plugin.class);
+        doReturn(repository).when(plugin).getLocalRepository();
+        assertEquals(errors, PreconditionError.remediate(plugin, errors));
+        verify(plugin).withoutErrors();
+
+        assertTrue(applicableErrors(pom).isEmpty());
+    }
+
+    @Test
+    public void testRemediateCheckedPom() throws Exception {
+        Path pom = repository.resolve("pom.xml");
+        Files.copy(Path.of("src/test/resources/test-pom.xml"), pom);
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        Set<PreconditionError> errors = PreconditionError.check(pomEditor);
+        // The POM read by the checks is remediated without reading the file again
+        Files.writeString(pom, "not read again");
+
+        Plugin plugin = mock(Plugin.class);
+        doReturn(repository).when(plugin).getLocalRepository();
+        doReturn(pomEditor).when(plugin).takePomEditor();
+        assertEquals(errors, PreconditionError.remediate(plugin, errors));
+        assertTrue(applicableErrors(pom).isEmpty());
+    }
+
+    @Test
+    public void testNoPom() {
+        assertEquals(EnumSet.of(PreconditionError.NO_POM), PreconditionError.check(null));
+    }
+
+    @Test
+    public void testNoRemediationWithoutPom() {
+        Plugin plugin = mock(Plugin.class);
+        doReturn(repository).when(plugin).getLocalRepository();
+        assertTrue(PreconditionError.remediate(plugin, EnumSet.of(PreconditionError.NO_POM)).isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BuildCostsTest {
+
+    @TempDir
+    private Path cachePath;
+
+    @Test
+    public void testDefaults() {
+        BuildCosts costs = BuildCosts.load(null);
+        assertEquals(BuildCost.of(2, 3072), costs.estimate("verify"));
+        assertEquals(BuildCost.of(1, 2048), costs.estimate("rewrite"));
+        assertEquals(BuildCost.of(1, 1536), costs.estimate("compile"));
+    }
+
+    @Test
+    public void testLearn() {
+        BuildCosts costs = BuildCosts.load(null);
+        costs.learn("verify", BuildCost.of(4, 1024));
+        assertEquals(BuildCost.of(4, 1024), costs.estimate("verify"));
+
+        // Memory follows a higher peak immediately and decreases slowly
+        costs.learn("verify", BuildCost.of(2, 2048));
+        assertEquals(3.4, costs.estimate("verify").cpus(), 0.001);
+        assertEquals(BuildCost.of(0, 2048).memoryBytes(), costs.estimate("verify").memoryBytes());
+        costs.learn("verify", BuildCost.of(2, 1024));
+        assertEquals(BuildCost.of(0, 1741).memoryBytes(), costs.estimate("verify").memoryBytes(), 1024 * 1024);
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        BuildCosts costs = BuildCosts.load(cachePath);
+        costs.save();
+        assertFalse(Files.exists(cachePath.resolve(BuildCosts.FILE_NAME)));
+
+        costs.learn("compile", BuildCost.of(1.5, 900));
+        costs.save();
+        BuildCosts loaded = BuildCosts.load(cachePath);
+        assertEquals(BuildCost.of(1.5, 900), loaded.estimate("compile"));
+        assertEquals(BuildCost.of(2, 3072), loaded.estimate("verify"));
+    }
+
+    @Test
+    public void testInvalidFile() throws Exception {
+        Files.writeString(cachePath.resolve(BuildCosts.FILE_NAME), "{not json");
+        assertEquals(BuildCost.of(2, 3072), BuildCosts.load(cachePath).estimate("verify"));
+    }
+}
@@ -0,0 +1,90 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BuildSchedulerTest {
+
+    private static final long GIB = 1024L * 1024 * 1024;
+
+    @Test
+    public void testMemoryLimitsConcurrentBuilds() throws Exception {
+        // Room for two verify builds of 3 GiB
+        BuildScheduler scheduler = new BuildScheduler(new HostCapacity(16, 7 * GIB), BuildCosts.load(null));
+        BuildScheduler.Lease first = scheduler.acquire("verify");
+        BuildScheduler.Lease second = scheduler.acquire("verify");
+        CompletableFuture<BuildScheduler.Lease> third = acquireAsync(scheduler, "verify");
+        assertFalse(waitFor(third));
+
+        second.close();
+        assertTrue(waitFor(third));
+        first.close();
+        third.join().close();
+    }
+
+    @Test
+    public void testOversizedBuildRunsAlone() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(new HostCapacity(1, GIB), BuildCosts.load(null));
+        BuildScheduler.Lease lease = scheduler.acquire("verify");
+        assertEquals(new BuildCost(1, GIB), lease.getCost());
+        CompletableFuture<BuildScheduler.Lease> next = acquireAsync(scheduler, "compile");
+        assertFalse(waitFor(next));
+        lease.close();
+        // Closing twice releases once
+        lease.close();
+        assertTrue(waitFor(next));
+        next.join().close();
+    }
+
+    @Test
+    public void testBuildsStartInOrder() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(new HostCapacity(4, 5 * GIB), BuildCosts.load(null));
+        BuildScheduler.Lease verify = scheduler.acquire("verify");
+        CompletableFuture<BuildScheduler.Lease> heavy = acquireAsync(scheduler, "verify");
+        assertFalse(waitFor(heavy));
+        // A light build fitting the remaining memory waits behind the heavy one
+        CompletableFuture<BuildScheduler.Lease> light = acquireAsync(scheduler, "compile");
+        assertFalse(waitFor(light));
+
+        verify.close();
+        assertTrue(waitFor(heavy));
+        assertTrue(waitFor(light));
+        heavy.join().close();
+        light.join().close();
+    }
+
+    @Test
+    public void testLeaseLearnsCost() throws Exception {
+        BuildCosts costs = BuildCosts.load(null);
+        BuildScheduler scheduler = new BuildScheduler(new HostCapacity(8, 16 * GIB), costs);
+        try (BuildScheduler.Lease lease = scheduler.acquire("rewrite")) {
+            lease.learn(BuildCost.of(3, 4096));
+        }
+        assertEquals(BuildCost.of(3, 4096), costs.estimate("rewrite"));
+    }
+
+    private static CompletableFuture<BuildScheduler.Lease> acquireAsync(BuildScheduler scheduler, String type) {
+        CompletableFuture<BuildScheduler.Lease> lease = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                lease.complete(scheduler.acquire(type));
+            } catch (InterruptedException e) {
+                lease.completeExceptionally(e);
+            }
+        });
+        return lease;
+    }
+
+    private static boolean waitFor(CompletableFuture<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        while (!future.isDone() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return future.isDone();
+    }
+}
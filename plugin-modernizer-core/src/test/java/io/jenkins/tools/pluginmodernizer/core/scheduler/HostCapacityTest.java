@@ -0,0 +1,70 @@
+package io.jenkins.tools.pluginmodernizer.core.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HostCapacityTest {
+
+    private static final long GIB = 1024L * 1024 * 1024;
+
+    @TempDir
+    private Path cgroup;
+
+    @Test
+    public void testWithoutCgroup() {
+        HostCapacity capacity = HostCapacity.detect(cgroup, 8, 16 * GIB, GIB);
+        assertEquals(8, capacity.cpus());
+        assertEquals(15 * GIB, capacity.memoryBytes());
+    }
+
+    @Test
+    public void testCgroupV2Limits() throws Exception {
+        Files.writeString(cgroup.resolve("cpu.max"), "250000 100000\n");
+        Files.writeString(cgroup.resolve("memory.max"), (6 * GIB) + "\n");
+        HostCapacity capacity = HostCapacity.detect(cgroup, 8, 16 * GIB, GIB);
+        assertEquals(2.5, capacity.cpus());
+        assertEquals(5 * GIB, capacity.memoryBytes());
+        assertEquals("2.5 CPUs, 5120 MiB", capacity.summary());
+    }
+
+    @Test
+    public void testCgroupV2Unlimited() throws Exception {
+        Files.writeString(cgroup.resolve("cpu.max"), "max 100000\n");
+        Files.writeString(cgroup.resolve("memory.max"), "max\n");
+        HostCapacity capacity = HostCapacity.detect(cgroup, 4, 16 * GIB, 0);
+        assertEquals(4, capacity.cpus());
+        assertEquals(16 * GIB, capacity.memoryBytes());
+    }
+
+    @Test
+    public void testCgroupV1Limits() throws Exception {
+        Files.createDirectories(cgroup.resolve("cpu"));
+        Files.createDirectories(cgroup.resolve("memory"));
+        Files.writeString(cgroup.resolve("cpu/cpu.cfs_quota_us"), "-1\n");
+        Files.writeString(cgroup.resolve("cpu/cpu.cfs_period_us"), "100000\n");
+        Files.writeString(cgroup.resolve("memory/memory.limit_in_bytes"), "9223372036854771712\n");
+        HostCapacity capacity = HostCapacity.detect(cgroup, 4, 16 * GIB, 0);
+        assertEquals(4, capacity.cpus());
+        assertEquals(16 * GIB, capacity.memoryBytes());
+
+        Files.writeString(cgroup.resolve("cpu/cpu.cfs_quota_us"), "50000\n");
+        Files.writeString(cgroup.resolve("memory/memory.limit_in_bytes"), (2 * GIB) + "\n");
+        capacity = HostCapacity.detect(cgroup, 4, 16 * GIB, 0);
+        assertEquals(1, capacity.cpus());
+        assertEquals(2 * GIB, capacity.memoryBytes());
+    }
+
+    @Test
+    public void testResolveCgroup() throws Exception {
+        Path directory = Files.createDirectories(cgroup.resolve("user.slice/session.scope"));
+        Path self = Files.writeString(cgroup.resolve("self"), "0::/user.slice/session.scope\n");
+        assertEquals(directory, HostCapacity.resolveCgroup(cgroup, self));
+        Files.writeString(self, "0::/\n");
+        assertEquals(cgroup, HostCapacity.resolveCgroup(cgroup, self));
+        assertEquals(cgroup, HostCapacity.resolveCgroup(cgroup, cgroup.resolve("missing")));
+    }
+}
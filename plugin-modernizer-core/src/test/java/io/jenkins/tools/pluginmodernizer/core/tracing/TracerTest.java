@@ -0,0 +1,111 @@
+package io.jenkins.tools.pluginmodernizer.core.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.jenkins.tools.pluginmodernizer.core.impl.RunReport;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TracerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testStagesArePropagatedThroughPlugin() {
+        List<List<Span>> exported = new ArrayList<>();
+        RunReport report = new RunReport(new Tracer(exported::add));
+        Plugin plugin = Plugin.build("example");
+
+        report.time(plugin, "total", () -> {
+            report.time(plugin, "fetch", () -> {});
+            assertTrue(exported.isEmpty());
+            report.time(plugin, "compile", () -> plugin.addError("Build failed"));
+        });
+
+        assertNull(plugin.getSpan());
+        assertEquals(1, exported.size());
+        List<Span> spans = exported.get(0);
+        assertEquals(List.of("fetch", "compile", "total"), spans.stream().map(Span::getName).toList());
+        Span root = spans.get(2);
+        assertTrue(root.isRoot());
+        assertEquals("example", root.getAttributes().get("plugin.name"));
+        for (Span child : spans.subList(0, 2)) {
+            assertEquals(root.getTraceId(), child.getTraceId());
+            assertEquals(root.getSpanId(), child.getParentSpanId());
+            assertTrue(child.getEndEpochNanos() >= child.getStartEpochNanos());
+        }
+        assertFalse(spans.get(0).isError());
+        assertTrue(spans.get(1).isError());
+        assertEquals("Build failed", spans.get(1).getStatusMessage());
+    }
+
+    @Test
+    public void testUnfinishedTracesAreFlushed() {
+        List<List<Span>> exported = new ArrayList<>();
+        Tracer tracer = new Tracer(exported::add);
+        Span root = tracer.start("total", null);
+        tracer.start("verify", root).end();
+        assertTrue(exported.isEmpty());
+
+        tracer.flush();
+        assertEquals(1, exported.size());
+        assertEquals("verify", exported.get(0).get(0).getName());
+    }
+
+    @Test
+    public void testWriteOtlpJson() throws Exception {
+        Path file = tempDir.resolve("traces").resolve("traces.jsonl");
+        Tracer tracer = Tracer.create(file, "1.0");
+        Span root = tracer.start("total", null).setAttribute("plugin.name", "example");
+        tracer.start("mvn clean", root)
+                .setAttribute("maven.exit_code", 1)
+                .setError("Build failed")
+                .end();
+        root.end();
+        tracer.start("total", null).end();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonObject resourceSpans = JsonParser.parseString(lines.get(0))
+                .getAsJsonObject()
+                .getAsJsonArray("resourceSpans")
+                .get(0)
+                .getAsJsonObject();
+        assertEquals(
+                "plugin-modernizer",
+                resourceSpans
+                        .getAsJsonObject("resource")
+                        .getAsJsonArray("attributes")
+                        .get(0)
+                        .getAsJsonObject()
+                        .getAsJsonObject("value")
+                        .get("stringValue")
+                        .getAsString());
+        JsonObject child = resourceSpans
+                .getAsJsonArray("scopeSpans")
+                .get(0)
+                .getAsJsonObject()
+                .getAsJsonArray("spans")
+                .get(0)
+                .getAsJsonObject();
+        assertEquals("mvn clean", child.get("name").getAsString());
+        assertEquals(32, child.get("traceId").getAsString().length());
+        assertEquals(16, child.get("spanId").getAsString().length());
+        assertEquals(root.getSpanId(), child.get("parentSpanId").getAsString());
+        assertEquals(2, child.getAsJsonObject("status").get("code").getAsInt());
+        JsonObject attribute = child.getAsJsonArray("attributes").get(0).getAsJsonObject();
+        assertEquals("maven.exit_code", attribute.get("key").getAsString());
+        assertEquals("1", attribute.getAsJsonObject("value").get("intValue").getAsString());
+    }
+}
@@ -0,0 +1,102 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AtomicFileUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testWriteReplacesContent() throws Exception {
+        Path file = tempDir.resolve("dir").resolve("file.txt");
+        AtomicFileUtils.write(file, "first");
+        AtomicFileUtils.write(file, "second");
+        assertEquals("second", Files.readString(file));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    public void testReleasedLocksAreForgotten() throws Exception {
+        int inUse = AtomicFileUtils.locksInUse();
+        Path lockFile = tempDir.resolve(".entry.lock");
+        try (AtomicFileUtils.Lock outer = AtomicFileUtils.lock(lockFile)) {
+            try (AtomicFileUtils.Lock inner = AtomicFileUtils.lock(lockFile)) {
+                assertEquals(inUse + 1, AtomicFileUtils.locksInUse());
+            }
+            assertEquals(inUse + 1, AtomicFileUtils.locksInUse());
+        }
+        assertEquals(inUse, AtomicFileUtils.locksInUse());
+        assertTrue(Files.exists(lockFile));
+    }
+
+    @Test
+    public void testFailedLockIsReleased() throws Exception {
+        int inUse = AtomicFileUtils.locksInUse();
+        Path lockFile = tempDir.resolve(".entry.lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            // The file is already locked through another channel of this JVM
+            ModernizerException e = assertThrows(ModernizerException.class, () -> AtomicFileUtils.lock(lockFile));
+            assertTrue(e.getCause() instanceof OverlappingFileLockException, e.getCause().toString());
+            assertEquals(inUse, AtomicFileUtils.locksInUse());
+        }
+        // Other threads can lock the file once it is released
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> AtomicFileUtils.lock(lockFile).close()).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(inUse, AtomicFileUtils.locksInUse());
+    }
+
+    @Test
+    public void testLockSeveralFilesInOppositeOrders() throws Exception {
+        int inUse = AtomicFileUtils.locksInUse();
+        Path first = tempDir.resolve(".first.lock");
+        Path second = tempDir.resolve(".second.lock");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> lockRepeatedly(start, List.of(first, second)));
+            Future<?> backward = executor.submit(() -> lockRepeatedly(start, List.of(second, first)));
+            start.countDown();
+            forward.get(30, TimeUnit.SECONDS);
+            backward.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(inUse, AtomicFileUtils.locksInUse());
+    }
+
+    private static Void lockRepeatedly(CountDownLatch start, List<Path> lockFiles) throws InterruptedException {
+        start.await();
+        for (int i = 0; i < 500; i++) {
+            try (AtomicFileUtils.Lock ignored = AtomicFileUtils.lock(lockFiles)) {
+                Thread.onSpinWait();
+            }
+        }
+        return null;
+    }
+}
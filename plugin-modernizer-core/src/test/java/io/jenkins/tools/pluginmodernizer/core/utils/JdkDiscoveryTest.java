@@ -0,0 +1,115 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for JdkDiscovery.
+ */
+public class JdkDiscoveryTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path createJdk(Path home, String version, String arch) throws Exception {
+        Files.createDirectories(home.resolve("bin"));
+        Files.createFile(home.resolve("bin").resolve("javac"));
+        Files.writeString(
+                home.resolve("release"), "JAVA_VERSION=\"%s\"\nOS_ARCH=\"%s\"\n".formatted(version, arch));
+        return home.toRealPath();
+    }
+
+    @Test
+    public void testDiscoverInstallDirectories() throws Exception {
+        Path jvm = tempDir.resolve("jvm");
+        Path jdk8 = createJdk(jvm.resolve("temurin-8"), "1.8.0_392", "amd64");
+        Path jdk17 = createJdk(jvm.resolve("java-17-openjdk-amd64"), "17.0.9", "x86_64");
+        createJdk(jvm.resolve("java-21-openjdk-arm64"), "21.0.1", "aarch64");
+        Path jdk21 = createJdk(
+                tempDir.resolve("mac").resolve("temurin-21.jdk").resolve("Contents").resolve("Home"),
+                "21.0.1",
+                "x86_64");
+        // Not a JDK
+        Files.createDirectories(jvm.resolve("java-11-openjdk-amd64").resolve("bin"));
+
+        JdkDiscovery discovery = new JdkDiscovery(
+                tempDir.resolve("missing-toolchains.xml"),
+                List.of(jvm, tempDir.resolve("mac"), tempDir.resolve("missing")),
+                "amd64");
+
+        assertEquals(Optional.of(jdk8), discovery.find(8));
+        assertEquals(Optional.empty(), discovery.find(11));
+        assertEquals(Optional.of(jdk17), discovery.find(17));
+        assertEquals(Optional.of(jdk21), discovery.find(21));
+        assertEquals(2, discovery.getIndex().get(21).size());
+    }
+
+    @Test
+    public void testToolchainsArePreferred() throws Exception {
+        Path jvm = tempDir.resolve("jvm");
+        createJdk(jvm.resolve("java-17-openjdk-amd64"), "17.0.9", "x86_64");
+        Path toolchainJdk = createJdk(tempDir.resolve("toolchain-17"), "17.0.13", "x86_64");
+        Path toolchains = tempDir.resolve("toolchains.xml");
+        Files.writeString(
+                toolchains,
+                """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <toolchains xmlns="http://maven.apache.org/TOOLCHAINS/1.1.0">
+                  <toolchain>
+                    <type>jdk</type>
+                    <provides><version>17</version></provides>
+                    <configuration><jdkHome>%s</jdkHome></configuration>
+                  </toolchain>
+                  <toolchain>
+                    <type>jdk</type>
+                    <provides><version>11</version></provides>
+                    <configuration><jdkHome>${env.JAVA11_HOME}</jdkHome></configuration>
+                  </toolchain>
+                </toolchains>
+                """
+                        .formatted(toolchainJdk));
+
+        JdkDiscovery discovery = new JdkDiscovery(toolchains, List.of(jvm), "x86_64");
+        assertEquals(Optional.of(toolchainJdk), discovery.find(17));
+        assertEquals(Optional.empty(), discovery.find(11));
+        assertEquals(2, discovery.getIndex().get(17).size());
+    }
+
+    @Test
+    public void testParseMajor() {
+        assertEquals(8, JdkDiscovery.parseMajor("1.8.0_392"));
+        assertEquals(11, JdkDiscovery.parseMajor("11.0.21"));
+        assertEquals(21, JdkDiscovery.parseMajor("21"));
+        assertEquals(22, JdkDiscovery.parseMajor("22-ea"));
+        assertNull(JdkDiscovery.parseMajor("unknown"));
+        assertNull(JdkDiscovery.parseMajor(null));
+    }
+
+    @Test
+    public void testNormalizeArchitecture() {
+        assertEquals("x64", JdkDiscovery.normalizeArchitecture("amd64"));
+        assertEquals("x64", JdkDiscovery.normalizeArchitecture("x86_64"));
+        assertEquals("aarch64", JdkDiscovery.normalizeArchitecture("arm64"));
+        assertNull(JdkDiscovery.normalizeArchitecture("ppc64le"));
+    }
+
+    @Test
+    public void testNormalizeArchitectureIgnoresDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals("x64", JdkDiscovery.normalizeArchitecture("AMD64"));
+            assertEquals("aarch64", JdkDiscovery.normalizeArchitecture("AARCH64"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for JdkFetcher, downloading from a local HTTP server.
+ */
+public class JdkFetcherTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private HttpServer server;
+
+    private JdkFetcher fetcher;
+
+    private byte[] archive;
+
+    private String checksum;
+
+    /**
+     * Number of bytes of the archive sent before dropping the first download, or -1 to send it whole
+     */
+    private volatile int truncateAt = -1;
+
+    /**
+     * Range headers of the archive downloads, "" for a download from the start
+     */
+    private final List<String> downloads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        archive = createArchive();
+        checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(archive));
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        String baseUrl = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + server.getAddress().getPort();
+        fetcher = new JdkFetcher(
+                tempDir.resolve("cache"),
+                new JdkDiscovery(tempDir.resolve("toolchains.xml"), List.of(), "amd64"),
+                baseUrl + "/repos/adoptium");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testInstallVerifiedJdkFromStagingDirectory() throws Exception {
+        Path jdk = fetcher.getJdkPath(21);
+
+        assertEquals(tempDir.resolve("cache").resolve(".jdks").resolve("plugin-modernizer-jdk-21"), jdk);
+        assertEquals("#!/bin/sh", Files.readString(jdk.resolve("bin").resolve("java")));
+        assertEquals(64 * 1024, Files.size(jdk.resolve("lib").resolve("modules")));
+        assertEquals(List.of(jdk), listJdksDirectory());
+
+        // Installed JDK is reused
+        assertEquals(jdk, fetcher.getJdkPath(21));
+        assertEquals(List.of(""), downloads);
+    }
+
+    @Test
+    public void testRejectChecksumMismatch() throws Exception {
+        checksum = "0".repeat(64);
+
+        ModernizerException e = assertThrows(ModernizerException.class, () -> fetcher.getJdkPath(21));
+
+        assertTrue(e.getMessage().startsWith("Checksum mismatch"), e.getMessage());
+        // Neither the JDK nor the staging directory are left behind
+        assertEquals(List.of(), listJdksDirectory());
+    }
+
+    @Test
+    public void testResumeTruncatedDownload() throws Exception {
+        truncateAt = archive.length / 2;
+
+        Path jdk = fetcher.getJdkPath(21);
+
+        assertEquals(2, downloads.size());
+        assertEquals("", downloads.get(0));
+        assertTrue(downloads.get(1).matches("bytes=\\d+-"), downloads.get(1));
+        long resumedFrom = Long.parseLong(downloads.get(1).substring(6, downloads.get(1).length() - 1));
+        assertTrue(resumedFrom > 0 && resumedFrom <= truncateAt, downloads.get(1));
+        // The checksum covers the bytes of both requests
+        assertEquals(64 * 1024, Files.size(jdk.resolve("lib").resolve("modules")));
+    }
+
+    @Test
+    public void testWaitForJdkProvisionedByAnotherProcess() throws Exception {
+        Path jdksDirectory = tempDir.resolve("cache").resolve(".jdks");
+        Path jdk = jdksDirectory.resolve("plugin-modernizer-jdk-21");
+        Files.createDirectories(jdksDirectory);
+        Path source = tempDir.resolve("ProvisionJdk.java");
+        Files.writeString(source, """
+                import java.nio.channels.FileChannel;
+                import java.nio.file.*;
+                public class ProvisionJdk {
+                    public static void main(String[] args) throws Exception {
+                        try (FileChannel channel = FileChannel.open(
+                                        Path.of(args[0]), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                                var lock = channel.lock()) {
+                            System.out.println("locked");
+                            System.in.read();
+                            Path bin = Files.createDirectories(Path.of(args[1]).resolve("bin"));
+                            Files.writeString(bin.resolve("java"), "#!/bin/sh");
+                        }
+                    }
+                }
+                """);
+        Process process = new ProcessBuilder(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        source.toString(),
+                        jdksDirectory.resolve(".jdk-21.lock").toString(),
+                        jdk.toString())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            BufferedReader output =
+                    new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("locked", output.readLine());
+
+            CompletableFuture<Path> provisioned = fetcher.prefetch(21);
+            Thread.sleep(500);
+            assertFalse(provisioned.isDone());
+
+            // Let the other process install the JDK and release the lock
+            process.getOutputStream().write('\n');
+            process.getOutputStream().flush();
+            assertEquals(jdk, provisioned.get(30, TimeUnit.SECONDS));
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+            assertEquals(List.of(), downloads);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    private List<Path> listJdksDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("cache").resolve(".jdks"))) {
+            return files.filter(file -> !file.getFileName().toString().endsWith(".lock"))
+                    .toList();
+        }
+    }
+
+    private byte[] createArchive() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("jdk-21.0.5+11/bin/java"));
+            zip.write("#!/bin/sh".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("jdk-21.0.5+11/lib/modules"));
+            // Incompressible content so the archive is large enough to be truncated
+            byte[] modules = new byte[64 * 1024];
+            new Random(42).nextBytes(modules);
+            zip.write(modules);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String base = "http://" + exchange.getRequestHeaders().getFirst("Host");
+        String name = fetcher.buildJDKFileName(21) + "_21.0.5_11.zip";
+        if (path.equals("/repos/adoptium/temurin21-binaries/releases")) {
+            respond(exchange, 200, """
+                    [{"assets": [
+                      {"name": "%1$s", "browser_download_url": "%2$s/download/%1$s"},
+                      {"name": "%1$s.sha256.txt", "browser_download_url": "%2$s/download/%1$s.sha256.txt"}
+                    ]}]"""
+                    .formatted(name, base)
+                    .getBytes(StandardCharsets.UTF_8));
+        } else if (path.equals("/download/" + name + ".sha256.txt")) {
+            respond(exchange, 200, (checksum + "  " + name + "\n").getBytes(StandardCharsets.UTF_8));
+        } else if (path.equals("/download/" + name)) {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            downloads.add(range != null ? range : "");
+            if (range != null) {
+                int from = Integer.parseInt(range.substring(6, range.length() - 1));
+                exchange.getResponseHeaders()
+                        .add("Content-Range", "bytes %d-%d/%d".formatted(from, archive.length - 1, archive.length));
+                respond(exchange, 206, Arrays.copyOfRange(archive, from, archive.length));
+            } else if (truncateAt >= 0 && downloads.size() == 1) {
+                // Announce the whole archive but drop the connection halfway
+                exchange.sendResponseHeaders(200, archive.length);
+                OutputStream body = exchange.getResponseBody();
+                body.write(archive, 0, truncateAt);
+                body.flush();
+                exchange.close();
+            } else {
+                respond(exchange, 200, archive);
+            }
+        } else {
+            respond(exchange, 404, new byte[0]);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
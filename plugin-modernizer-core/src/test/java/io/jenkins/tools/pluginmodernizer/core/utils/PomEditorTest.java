@@ -0,0 +1,195 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+/**
+ * Test class for PomEditor.
+ */
+public class PomEditorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path pom;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pom = tempDir.resolve("pom.xml");
+        Files.copy(Path.of("src/test/resources/test-pom.xml"), pom);
+    }
+
+    private List<String> changedLines(String before, String after) {
+        List<String> original = before.lines().toList();
+        return after.lines().filter(line -> !original.contains(line)).toList();
+    }
+
+    @Test
+    public void testRemoveOffendingProperties() throws Exception {
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        pomEditor.removeOffendingProperties();
+        pomEditor.savePom(pom.toString());
+
+        String content = Files.readString(pom);
+        assertFalse(content.contains("<java.level>"));
+        assertFalse(content.contains("<jenkins-test-harness.version>"));
+        assertFalse(content.contains("Java Level to use. Java 7 required when using core >= 1.612"));
+        assertFalse(content.contains("Jenkins Test Harness version you use to test the plugin."));
+        // Unrelated comments are kept
+        assertTrue(content.contains("Baseline Jenkins version you use to build the plugin."));
+        assertTrue(content.contains("Other properties you may want to use:"));
+    }
+
+    @Test
+    public void testUpdateParentPomAndJenkinsVersion() throws Exception {
+        String original = Files.readString(pom);
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        pomEditor.updateParentPom("org.jenkins-ci.plugins", "plugin", "4.80");
+        pomEditor.updateJenkinsMinimalVersion("2.462.2");
+        pomEditor.savePom(pom.toString());
+
+        Document document = XmlUtils.parse(pom);
+        assertEquals(
+                "4.80",
+                XmlUtils.compile("//*[local-name()='parent']/*[local-name()='version']")
+                        .evaluate(document));
+        assertEquals(
+                "2.462.2",
+                XmlUtils.compile("//*[local-name()='properties']/*[local-name()='jenkins.version']")
+                        .evaluate(document));
+        // Only the changed values differ, formatting is preserved
+        assertEquals(
+                List.of("    <version>4.80</version>", "    <jenkins.version>2.462.2</jenkins.version>"),
+                changedLines(original, Files.readString(pom)));
+    }
+
+    @Test
+    public void testAddMissingParentAndJenkinsVersion() throws Exception {
+        Files.writeString(
+                pom,
+                String.join(
+                        "\n",
+                        "<project>",
+                        "    <modelVersion>4.0.0</modelVersion>",
+                        "    <artifactId>example</artifactId>",
+                        "    <properties>",
+                        "        <java.level>7</java.level>",
+                        "    </properties>",
+                        "</project>",
+                        ""));
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        pomEditor.updateParentPom("org.jenkins-ci.plugins", "plugin", "4.80");
+        pomEditor.updateJenkinsMinimalVersion("2.462.2");
+        pomEditor.savePom(pom.toString());
+
+        assertEquals(
+                String.join(
+                        "\n",
+                        "<project>",
+                        "    <modelVersion>4.0.0</modelVersion>",
+                        "    <parent>",
+                        "        <groupId>org.jenkins-ci.plugins</groupId>",
+                        "        <artifactId>plugin</artifactId>",
+                        "        <version>4.80</version>",
+                        "    </parent>",
+                        "    <artifactId>example</artifactId>",
+                        "    <properties>",
+                        "        <java.level>7</java.level>",
+                        "        <jenkins.version>2.462.2</jenkins.version>",
+                        "    </properties>",
+                        "</project>",
+                        ""),
+                Files.readString(pom));
+    }
+
+    @Test
+    public void testDocumentFollowsContent() throws Exception {
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        Document document = pomEditor.getDocument();
+        assertSame(document, pomEditor.getDocument());
+        assertEquals("http://maven.apache.org/POM/4.0.0", document.getDocumentElement().getNamespaceURI());
+
+        pomEditor.updateParentPom("org.jenkins-ci.plugins", "plugin", "4.80");
+        assertEquals(
+                "4.80",
+                XmlUtils.compile("//*[local-name()='parent']/*[local-name()='version']")
+                        .evaluate(pomEditor.getDocument()));
+    }
+
+    @Test
+    public void testKeepDeclaredEncoding() throws Exception {
+        String original = String.join(
+                "\n",
+                "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>",
+                "<project>",
+                "  <modelVersion>4.0.0</modelVersion>",
+                "  <!-- Développé par l'équipe -->",
+                "  <url>http://example.org/</url>",
+                "</project>",
+                "");
+        Files.write(pom, original.getBytes(StandardCharsets.ISO_8859_1));
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        assertEquals(StandardCharsets.ISO_8859_1, pomEditor.getCharset());
+        assertTrue(pomEditor.replaceHttpWithHttps());
+        pomEditor.savePom(pom.toString());
+
+        assertEquals(
+                original.replace("http://", "https://"),
+                new String(Files.readAllBytes(pom), StandardCharsets.ISO_8859_1));
+        assertEquals(StandardCharsets.UTF_8, PomEditor.charsetOf("<project/>".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(
+                StandardCharsets.UTF_8,
+                PomEditor.charsetOf("<?xml version='1.0' encoding='unknown'?>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testReplaceHttpWithHttps() throws Exception {
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        assertTrue(pomEditor.replaceHttpWithHttps());
+        assertFalse(pomEditor.replaceHttpWithHttps());
+        pomEditor.savePom(pom.toString());
+
+        String content = Files.readString(pom);
+        assertFalse(content.contains("<url>http://"));
+        assertTrue(content.contains("<url>https://repo.jenkins-ci.org/public/</url>"));
+    }
+
+    @Test
+    public void testAddRelativePathAndBom() throws Exception {
+        String original = Files.readString(pom);
+        PomEditor pomEditor = new PomEditor(pom.toString());
+        pomEditor.addRelativePath();
+        pomEditor.addRelativePath();
+        pomEditor.addBom("io.jenkins.tools.bom", "bom-2.440.x", "3435.v238d66a_043fb_");
+        pomEditor.savePom(pom.toString());
+
+        assertEquals(
+                List.of(
+                        "    <relativePath />",
+                        "  <dependencyManagement>",
+                        "    <dependencies>",
+                        "      <dependency>",
+                        "        <groupId>io.jenkins.tools.bom</groupId>",
+                        "        <artifactId>bom-2.440.x</artifactId>",
+                        "        <version>3435.v238d66a_043fb_</version>",
+                        "        <type>pom</type>",
+                        "        <scope>import</scope>",
+                        "      </dependency>",
+                        "    </dependencies>",
+                        "  </dependencyManagement>"),
+                changedLines(original, Files.readString(pom)));
+        // Still a valid document
+        XmlUtils.parse(pom);
+    }
+}